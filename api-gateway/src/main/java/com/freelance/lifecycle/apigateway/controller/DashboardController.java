@@ -0,0 +1,44 @@
+package com.freelance.lifecycle.apigateway.controller;
+
+import com.freelance.lifecycle.apigateway.dto.DashboardDTO;
+import com.freelance.lifecycle.apigateway.ratelimit.ClientKeyResolver;
+import com.freelance.lifecycle.apigateway.service.DashboardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/v1/dashboard")
+@RequiredArgsConstructor
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+    private final ClientKeyResolver clientKeyResolver;
+
+    // 200 with whatever parts answered; when none did, 429 if they were all rate limited and 502 otherwise
+    @GetMapping("/user/{userId}")
+    public Mono<ResponseEntity<DashboardDTO>> getDashboard(
+            @PathVariable Long userId,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            ServerWebExchange exchange) {
+        return clientKeyResolver.resolve(exchange)
+                .flatMap(clientKey -> dashboardService.getDashboard(userId, authorization, clientKey))
+                .map(dashboard -> ResponseEntity.status(status(dashboard)).body(dashboard));
+    }
+
+    private static HttpStatus status(DashboardDTO dashboard) {
+        if (dashboard.getErrors().size() < DashboardService.PARTS) {
+            return HttpStatus.OK;
+        }
+        return dashboard.getErrors().values().stream().allMatch(DashboardService.RATE_LIMITED::equals)
+                ? HttpStatus.TOO_MANY_REQUESTS : HttpStatus.BAD_GATEWAY;
+    }
+}
@@ -0,0 +1,75 @@
+package com.freelance.lifecycle.apigateway.controller;
+
+import com.freelance.lifecycle.apigateway.dto.FallbackDTO;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR;
+
+/**
+ * Target of the routes' {@code CircuitBreaker} {@code fallbackUri}. Answers at once with 503 and
+ * the reason the backend call was not made or did not finish, so clients back off instead of
+ * waiting on a backend that is down or saturated.
+ */
+@RestController
+@RequestMapping("/fallback")
+@RequiredArgsConstructor
+@Slf4j
+public class FallbackController {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+
+    // Any method: writes that hit an open breaker are forwarded here too
+    @RequestMapping("/{routeId}")
+    public ResponseEntity<FallbackDTO> fallback(@PathVariable String routeId, ServerWebExchange exchange) {
+        Throwable cause = exchange.getAttribute(CIRCUITBREAKER_EXECUTION_EXCEPTION_ATTR);
+        String reason;
+        String message;
+        Duration retryAfter = Duration.ofSeconds(1);
+        if (cause instanceof CallNotPermittedException) {
+            reason = "circuit-open";
+            message = routeId + " is failing; requests are not forwarded for now";
+            retryAfter = circuitBreakerRegistry.find(routeId)
+                    .map(FallbackController::openStateWait)
+                    .orElse(retryAfter);
+        } else if (cause instanceof BulkheadFullException) {
+            reason = "bulkhead-full";
+            message = routeId + " has too many requests in progress";
+        } else if (cause instanceof TimeoutException) {
+            reason = "timeout";
+            message = routeId + " did not answer in time";
+        } else if (cause instanceof HttpStatusCodeException statusCodeException) {
+            reason = "backend-error";
+            message = routeId + " answered " + statusCodeException.getStatusCode().value();
+        } else {
+            reason = "unavailable";
+            message = routeId + " could not be reached";
+        }
+        log.debug("Fallback for route {}: {}", routeId, reason, cause);
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfter.toSeconds())))
+                .cacheControl(CacheControl.noStore())
+                .body(new FallbackDTO(routeId, reason, message));
+    }
+
+    private static Duration openStateWait(CircuitBreaker breaker) {
+        return Duration.ofMillis(breaker.getCircuitBreakerConfig().getWaitIntervalFunctionInOpenState().apply(1));
+    }
+}
@@ -0,0 +1,58 @@
+package com.freelance.lifecycle.apigateway.controller;
+
+import com.freelance.lifecycle.apigateway.dto.RouteResilienceDTO;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Adds {@code /actuator/gateway/resilience} next to the routes and filters the actuator
+ * {@code gateway} endpoint already lists: per route, the state of its circuit breaker and bulkhead
+ * and how many requests each has turned away.
+ */
+@RestController
+@RequiredArgsConstructor
+public class ResilienceController {
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @GetMapping("${management.endpoints.web.base-path:/actuator}/gateway/resilience")
+    public List<RouteResilienceDTO> getResilience() {
+        Map<String, RouteResilienceDTO> routes = new TreeMap<>();
+        for (CircuitBreaker breaker : circuitBreakerRegistry.getAllCircuitBreakers()) {
+            CircuitBreaker.Metrics metrics = breaker.getMetrics();
+            RouteResilienceDTO route = routes.computeIfAbsent(breaker.getName(), RouteResilienceDTO::new);
+            route.setCircuitBreakerState(breaker.getState().name());
+            route.setFailureRate(metrics.getFailureRate());
+            route.setSlowCallRate(metrics.getSlowCallRate());
+            route.setBufferedCalls(metrics.getNumberOfBufferedCalls());
+            route.setFailedCalls(metrics.getNumberOfFailedCalls());
+            route.setSlowCalls(metrics.getNumberOfSlowCalls());
+            route.setNotPermittedCalls(metrics.getNumberOfNotPermittedCalls());
+        }
+        for (Bulkhead bulkhead : bulkheadRegistry.getAllBulkheads()) {
+            RouteResilienceDTO route = routes.computeIfAbsent(bulkhead.getName(), RouteResilienceDTO::new);
+            route.setBulkheadMaxConcurrentCalls(bulkhead.getMetrics().getMaxAllowedConcurrentCalls());
+            route.setBulkheadAvailableConcurrentCalls(bulkhead.getMetrics().getAvailableConcurrentCalls());
+            route.setBulkheadRejectedCalls(Optional.ofNullable(meterRegistry.find("gateway.bulkhead.rejected")
+                            .tag("route", bulkhead.getName())
+                            .counter())
+                    .map(counter -> (long) counter.count())
+                    .orElse(0L));
+        }
+        return new ArrayList<>(routes.values());
+    }
+}
@@ -0,0 +1,23 @@
+package com.freelance.lifecycle.apigateway.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * A user's dashboard assembled from several backend calls. A part whose call failed or timed out
+ * is {@code null} and has an entry in {@code errors}; the other parts are still returned.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardDTO {
+    private Long userId;
+    private JsonNode applications;
+    private JsonNode notifications;
+    private JsonNode unreadCount;
+    private Map<String, String> errors;
+}
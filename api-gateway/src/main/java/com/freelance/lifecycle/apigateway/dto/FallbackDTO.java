@@ -0,0 +1,19 @@
+package com.freelance.lifecycle.apigateway.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Body of the 503 a route answers with when its call to the backend was not made or did not
+ * finish: {@code reason} is {@code circuit-open}, {@code bulkhead-full}, {@code timeout},
+ * {@code backend-error} or {@code unavailable}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FallbackDTO {
+    private String route;
+    private String reason;
+    private String message;
+}
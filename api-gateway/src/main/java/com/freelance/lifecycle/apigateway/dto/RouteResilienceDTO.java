@@ -0,0 +1,29 @@
+package com.freelance.lifecycle.apigateway.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Circuit breaker and bulkhead state of one gateway route. The breaker figures cover its current
+ * sliding window (rates are -1 until it holds the minimum number of calls); the fields of a
+ * protection the route does not have are {@code null}.
+ */
+@Data
+@NoArgsConstructor
+public class RouteResilienceDTO {
+    private String route;
+    private String circuitBreakerState;
+    private Float failureRate;
+    private Float slowCallRate;
+    private Integer bufferedCalls;
+    private Integer failedCalls;
+    private Integer slowCalls;
+    private Long notPermittedCalls;
+    private Integer bulkheadMaxConcurrentCalls;
+    private Integer bulkheadAvailableConcurrentCalls;
+    private Long bulkheadRejectedCalls;
+
+    public RouteResilienceDTO(String route) {
+        this.route = route;
+    }
+}
@@ -0,0 +1,59 @@
+package com.freelance.lifecycle.apigateway.filter;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Caps the calls a route has in flight to its backend with the resilience4j bulkhead named after
+ * the route ({@code resilience4j.bulkhead.instances.<routeId>}), so a backend that stops answering
+ * can only hold that many of the gateway's connections. Unlike {@code LoadShedding} the cap is
+ * fixed. A call over the cap fails at once with {@code BulkheadFullException}; placed after the
+ * route's {@code CircuitBreaker} filter, that exception is turned into the route's fallback (and
+ * is listed in the breaker's {@code ignore-exceptions} so it does not count as a backend failure).
+ */
+@Component
+public class BulkheadGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<BulkheadGatewayFilterFactory.Config> {
+
+    private final BulkheadRegistry bulkheadRegistry;
+    private final MeterRegistry meterRegistry;
+    private final Set<String> instrumented = ConcurrentHashMap.newKeySet();
+
+    public BulkheadGatewayFilterFactory(BulkheadRegistry bulkheadRegistry, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        String routeId = config.getRouteId();
+        Bulkhead bulkhead = bulkheadRegistry.bulkhead(routeId);
+        // The registry keeps the bulkhead across route refreshes; subscribe to its events only once
+        if (instrumented.add(routeId)) {
+            Counter rejected = Counter.builder("gateway.bulkhead.rejected")
+                    .description("Requests rejected because the route's bulkhead was full")
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+            bulkhead.getEventPublisher().onCallRejected(event -> rejected.increment());
+        }
+        // The permit is released when the backend's response headers are in, or on error or cancel
+        return (exchange, chain) -> chain.filter(exchange).transformDeferred(BulkheadOperator.of(bulkhead));
+    }
+
+    @Data
+    public static class Config implements HasRouteId {
+        private String routeId;
+    }
+}
@@ -0,0 +1,41 @@
+package com.freelance.lifecycle.apigateway.filter;
+
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * A GET response held by {@link ResponseCacheGatewayFilterFactory}. It is served without contacting
+ * the backend until {@code freshUntil}; after that it is only used if the backend confirms it with
+ * a 304 to a conditional request built from its {@code ETag} or {@code Last-Modified}.
+ */
+record CachedResponse(HttpHeaders headers, byte[] body, String resource, Instant storedAt, Instant freshUntil) {
+
+    boolean isFresh(Instant now) {
+        return now.isBefore(freshUntil);
+    }
+
+    boolean hasValidator() {
+        return headers.getETag() != null || headers.getLastModified() >= 0;
+    }
+
+    long ageSeconds(Instant now) {
+        return Math.max(0, Duration.between(storedAt, now).getSeconds());
+    }
+
+    /**
+     * The stored headers updated with the validators and cache directives of a 304 that confirmed
+     * this body.
+     */
+    HttpHeaders mergedWith(HttpHeaders notModifiedHeaders) {
+        HttpHeaders merged = new HttpHeaders();
+        merged.putAll(headers);
+        for (String name : new String[]{HttpHeaders.ETAG, HttpHeaders.LAST_MODIFIED, HttpHeaders.CACHE_CONTROL, HttpHeaders.EXPIRES}) {
+            if (notModifiedHeaders.containsKey(name)) {
+                merged.put(name, notModifiedHeaders.get(name));
+            }
+        }
+        return merged;
+    }
+}
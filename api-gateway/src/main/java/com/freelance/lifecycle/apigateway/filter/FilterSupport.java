@@ -0,0 +1,57 @@
+package com.freelance.lifecycle.apigateway.filter;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Helpers shared by the filters that answer a request with a response obtained for another one.
+ */
+final class FilterSupport {
+
+    // Hop-by-hop, recomputed for every response, or added by the gateway itself (CORS, rate limits)
+    private static final Set<String> UNREPLAYED_HEADERS = Set.of("connection", "keep-alive", "transfer-encoding",
+            "content-length", "date", "vary", "age", "retry-after");
+
+    private FilterSupport() {
+    }
+
+    /**
+     * Identifies the response a request asks for: path, query and the given request headers.
+     */
+    static String requestKey(ServerHttpRequest request, List<String> headers) {
+        StringBuilder key = new StringBuilder(request.getPath().value());
+        if (request.getURI().getRawQuery() != null) {
+            key.append('?').append(request.getURI().getRawQuery());
+        }
+        for (String header : headers) {
+            key.append('\n').append(header).append(": ").append(request.getHeaders().getValuesAsList(header));
+        }
+        return key.toString();
+    }
+
+    static boolean isStreaming(HttpHeaders headers) {
+        MediaType contentType = headers.getContentType();
+        return contentType != null && (MediaType.TEXT_EVENT_STREAM.isCompatibleWith(contentType)
+                || MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType));
+    }
+
+    /**
+     * A copy of the backend response headers that can be sent with the same body to another client.
+     */
+    static HttpHeaders replayableHeaders(HttpHeaders headers) {
+        HttpHeaders replayable = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            String lowerCaseName = name.toLowerCase(Locale.ROOT);
+            if (!UNREPLAYED_HEADERS.contains(lowerCaseName) && !lowerCaseName.startsWith("access-control-")
+                    && !lowerCaseName.startsWith("x-ratelimit-")) {
+                replayable.put(name, List.copyOf(values));
+            }
+        });
+        return HttpHeaders.readOnlyHttpHeaders(replayable);
+    }
+}
@@ -0,0 +1,167 @@
+package com.freelance.lifecycle.apigateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the requests a route has in flight to its backend with a limit that adapts to the backend's
+ * latency, and answers requests over the limit with 503 and {@code Retry-After} instead of queueing
+ * them in the backend's thread and connection pools. The latency is an exponentially weighted
+ * average of the time until the backend's response headers arrive (timeouts and connection errors
+ * included). While it stays under {@code latencyThreshold} the limit grows by one per response, up
+ * to {@code maxConcurrency}; above it the limit is cut by 10%, at most once per
+ * {@code latencyThreshold} so each cut is measured before the next, down to {@code minConcurrency}.
+ * All state is atomics; nothing locks on the request path.
+ */
+@Component
+public class LoadSheddingGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<LoadSheddingGatewayFilterFactory.Config> {
+
+    // Weight of the newest latency sample in the average
+    private static final double ALPHA = 0.2;
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, AdaptiveLimit> limits = new ConcurrentHashMap<>();
+
+    public LoadSheddingGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Kept across route refreshes so the limit learned so far is not reset
+        AdaptiveLimit limit = limits.computeIfAbsent(config.getRouteId(), routeId -> new AdaptiveLimit(routeId, config));
+        return (exchange, chain) -> filter(exchange, chain, limit);
+    }
+
+    private static Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, AdaptiveLimit limit) {
+        if (!limit.tryAcquire()) {
+            limit.shed.increment();
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+            response.getHeaders().set(HttpHeaders.RETRY_AFTER,
+                    String.valueOf(Math.max(1, limit.config.getRetryAfter().toSeconds())));
+            return response.setComplete();
+        }
+        long start = System.nanoTime();
+        // As a route filter this completes once the backend's response headers are in, before the body is relayed
+        return chain.filter(exchange).doFinally(signal -> limit.release(
+                signal == SignalType.CANCEL ? -1 : System.nanoTime() - start));
+    }
+
+    /**
+     * Applies the route's limit to a call made outside the route, such as the dashboard's backend
+     * calls. A call over the limit fails with {@link OverloadedException}. Until the route has been
+     * built there is no limit to apply and the call goes through.
+     */
+    public <T> Mono<T> limit(String routeId, Mono<T> call) {
+        AdaptiveLimit limit = limits.get(routeId);
+        if (limit == null) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            if (!limit.tryAcquire()) {
+                limit.shed.increment();
+                return Mono.error(new OverloadedException(routeId));
+            }
+            long start = System.nanoTime();
+            return call.doFinally(signal -> limit.release(signal == SignalType.CANCEL ? -1 : System.nanoTime() - start));
+        });
+    }
+
+    public static class OverloadedException extends RuntimeException {
+        public OverloadedException(String routeId) {
+            super("Route " + routeId + " is at its concurrency limit");
+        }
+    }
+
+    private final class AdaptiveLimit {
+
+        private final Config config;
+        private final long thresholdNanos;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger limit;
+        private final AtomicLong averageNanos = new AtomicLong();
+        private final AtomicLong lastDecrease = new AtomicLong(System.nanoTime());
+        private final Counter shed;
+
+        AdaptiveLimit(String routeId, Config config) {
+            this.config = config;
+            this.thresholdNanos = config.getLatencyThreshold().toNanos();
+            this.limit = new AtomicInteger(config.getMaxConcurrency());
+
+            Gauge.builder("gateway.load-shedding.limit", limit, AtomicInteger::get)
+                    .description("Current concurrency limit towards the route's backend")
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+            Gauge.builder("gateway.load-shedding.in-flight", inFlight, AtomicInteger::get)
+                    .description("Requests in flight to the route's backend")
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+            Gauge.builder("gateway.load-shedding.latency", averageNanos, nanos -> nanos.get() / 1_000_000.0)
+                    .description("Average backend response time in milliseconds used to adapt the limit")
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+            this.shed = Counter.builder("gateway.load-shedding.shed")
+                    .description("Requests rejected with 503 because the route was at its concurrency limit")
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+        }
+
+        boolean tryAcquire() {
+            if (inFlight.incrementAndGet() > limit.get()) {
+                inFlight.decrementAndGet();
+                return false;
+            }
+            return true;
+        }
+
+        void release(long latencyNanos) {
+            int used = inFlight.getAndDecrement();
+            if (latencyNanos < 0) {
+                return;
+            }
+            long average = averageNanos.updateAndGet(current -> current == 0 ? latencyNanos
+                    : (long) (current + ALPHA * (latencyNanos - current)));
+            if (average > thresholdNanos) {
+                long now = System.nanoTime();
+                long last = lastDecrease.get();
+                if (now - last >= thresholdNanos && lastDecrease.compareAndSet(last, now)) {
+                    limit.updateAndGet(current -> Math.max(config.getMinConcurrency(), (int) (current * 0.9)));
+                }
+            } else if (used * 2 >= limit.get()) {
+                // Only grow a limit the traffic reaches; otherwise light load would raise it to max untested
+                limit.updateAndGet(current -> Math.min(config.getMaxConcurrency(), current + 1));
+            }
+        }
+    }
+
+    @Data
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private int maxConcurrency = 64;
+        private int minConcurrency = 4;
+        private Duration latencyThreshold = Duration.ofMillis(500);
+        private Duration retryAfter = Duration.ofSeconds(1);
+    }
+}
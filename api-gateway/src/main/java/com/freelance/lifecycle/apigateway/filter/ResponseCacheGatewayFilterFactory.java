@@ -0,0 +1,360 @@
+package com.freelance.lifecycle.apigateway.filter;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpRequestDecorator;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Caches GET responses of a route in memory, bounded by {@code size} (bytes of path and body)
+ * and {@code timeToLive}. Entries are keyed on path, query and the {@code keyHeaders} of the
+ * request, and are served without contacting the backend while fresh: for {@code timeToLive}, or
+ * less if the backend sends a shorter {@code max-age}/{@code s-maxage}. Responses marked
+ * {@code no-cache} are kept but revalidated on every request with their {@code ETag} or
+ * {@code Last-Modified}, so an unchanged resource costs the backend a 304 instead of a full read;
+ * {@code no-store}, {@code Set-Cookie} and streaming responses are never stored. {@code private}
+ * is not treated specially: the gateway is the system's own edge, and with {@code Authorization}
+ * in the key an entry is only served to callers presenting the same credentials.
+ *
+ * <p>A POST, PUT, PATCH or DELETE through the route invalidates, before its response reaches the
+ * client, the cached entries of the resource it targets: the first of the route's
+ * {@code resources} patterns that matches its path, with the same variable values. A write that
+ * matches no pattern clears the whole route cache, so only list a pattern when every view of that
+ * resource lives under it.
+ */
+@Component
+public class ResponseCacheGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<ResponseCacheGatewayFilterFactory.Config> {
+
+    private static final Set<HttpMethod> WRITE_METHODS =
+            Set.of(HttpMethod.POST, HttpMethod.PUT, HttpMethod.PATCH, HttpMethod.DELETE);
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteCache> routeCaches = new ConcurrentHashMap<>();
+
+    public ResponseCacheGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        // Kept across route refreshes; size and TTL are those of the first load
+        RouteCache cache = routeCaches.computeIfAbsent(config.getRouteId(), routeId -> new RouteCache(routeId, config));
+        // Runs before NettyWriteResponseFilter so the backend body is written into our decorator, and
+        // outside SingleFlight so that only cache misses are coalesced
+        return new OrderedGatewayFilter((exchange, chain) -> filter(exchange, chain, cache),
+                NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2);
+    }
+
+    private Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain, RouteCache cache) {
+        HttpMethod method = exchange.getRequest().getMethod();
+        if (HttpMethod.GET.equals(method)) {
+            return get(exchange, chain, cache);
+        }
+        if (WRITE_METHODS.contains(method)) {
+            String path = exchange.getRequest().getPath().value();
+            // Also on error responses, since the backend may have applied the change before failing
+            exchange.getResponse().beforeCommit(() -> Mono.fromRunnable(() -> cache.invalidate(path)));
+        }
+        return chain.filter(exchange);
+    }
+
+    private Mono<Void> get(ServerWebExchange exchange, GatewayFilterChain chain, RouteCache cache) {
+        ServerHttpRequest request = exchange.getRequest();
+        List<String> requestDirectives = directives(request.getHeaders().getCacheControl());
+        if (requestDirectives.contains("no-store")) {
+            cache.record("bypass");
+            return chain.filter(exchange);
+        }
+
+        String key = cache.key(request);
+        Instant now = Instant.now();
+        CachedResponse cached = cache.entries.getIfPresent(key);
+        if (cached != null && cached.isFresh(now) && !requestDirectives.contains("no-cache")) {
+            cache.record("hit");
+            return serve(exchange, cached, now);
+        }
+
+        CachedResponse stale = cached != null && cached.hasValidator() ? cached : null;
+        ServerHttpRequest forwarded = stale == null ? request : conditional(request, stale);
+        CachingResponse response = new CachingResponse(exchange, cache, key, stale, cache.epoch.get());
+        return chain.filter(exchange.mutate().request(forwarded).response(response).build());
+    }
+
+    private static ServerHttpRequest conditional(ServerHttpRequest request, CachedResponse stale) {
+        // A copy: the client's own validators are still needed to answer it once the backend confirms the entry
+        HttpHeaders headers = new HttpHeaders();
+        headers.putAll(request.getHeaders());
+        headers.remove(HttpHeaders.IF_NONE_MATCH);
+        headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+        if (stale.headers().getETag() != null) {
+            headers.setIfNoneMatch(stale.headers().getETag());
+        } else {
+            headers.setIfModifiedSince(stale.headers().getLastModified());
+        }
+        return new ServerHttpRequestDecorator(request) {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+
+    private static Mono<Void> serve(ServerWebExchange exchange, CachedResponse cached, Instant now) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.OK);
+        HttpHeaders headers = response.getHeaders();
+        headers.remove(HttpHeaders.CONTENT_LENGTH);
+        cached.headers().forEach(headers::put);
+        headers.set(HttpHeaders.AGE, String.valueOf(cached.ageSeconds(now)));
+
+        String eTag = cached.headers().getETag();
+        long lastModified = cached.headers().getLastModified();
+        boolean notModified = lastModified >= 0
+                ? exchange.checkNotModified(eTag, Instant.ofEpochMilli(lastModified))
+                : eTag != null && exchange.checkNotModified(eTag);
+        if (notModified) {
+            return response.setComplete();
+        }
+        headers.setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    private static List<String> directives(String cacheControl) {
+        if (cacheControl == null || cacheControl.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(cacheControl.split(","))
+                .map(directive -> directive.trim().toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Stores the backend's answer to a cache miss, or replaces its 304 to our conditional request
+     * with the confirmed entry.
+     */
+    private static final class CachingResponse extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final RouteCache cache;
+        private final String key;
+        private final CachedResponse stale;
+        private final long epoch;
+
+        CachingResponse(ServerWebExchange exchange, RouteCache cache, String key, CachedResponse stale, long epoch) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.cache = cache;
+            this.key = key;
+            this.stale = stale;
+            this.epoch = epoch;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            Instant now = Instant.now();
+            if (stale != null && HttpStatus.NOT_MODIFIED.equals(getStatusCode())) {
+                cache.record("revalidated");
+                HttpHeaders merged = stale.mergedWith(getHeaders());
+                Duration freshFor = cache.freshness(merged);
+                CachedResponse confirmed = freshFor == null ? stale
+                        : cache.store(key, merged, stale.body(), stale.resource(), freshFor, epoch, now);
+                return Flux.from(body).doOnNext(DataBufferUtils::release)
+                        .then(serve(exchange, confirmed, now));
+            }
+
+            cache.record("miss");
+            Duration freshFor = HttpStatus.OK.equals(getStatusCode()) && !FilterSupport.isStreaming(getHeaders())
+                    ? cache.freshness(getHeaders()) : null;
+            if (freshFor == null) {
+                if (stale != null) {
+                    cache.entries.invalidate(key);
+                }
+                return super.writeWith(body);
+            }
+            String resource = cache.resource(exchange.getRequest().getPath().value());
+            return DataBufferUtils.join(body)
+                    .map(joined -> {
+                        byte[] bytes = new byte[joined.readableByteCount()];
+                        joined.read(bytes);
+                        DataBufferUtils.release(joined);
+                        return bytes;
+                    })
+                    .defaultIfEmpty(new byte[0])
+                    .flatMap(bytes -> {
+                        cache.store(key, getHeaders(), bytes, resource, freshFor, epoch, now);
+                        return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                    });
+        }
+    }
+
+    private final class RouteCache {
+
+        private final Config config;
+        private final Cache<String, CachedResponse> entries;
+        private final List<PathPattern> resources;
+        // Bumped by every write, so a GET that was in flight during one does not store what it read
+        private final AtomicLong epoch = new AtomicLong();
+        private final Map<String, Counter> requests = new ConcurrentHashMap<>();
+        private final Counter invalidations;
+        private final String routeId;
+
+        RouteCache(String routeId, Config config) {
+            this.routeId = routeId;
+            this.config = config;
+            this.entries = Caffeine.newBuilder()
+                    .maximumWeight(config.getSize().toBytes())
+                    .weigher((String key, CachedResponse response) -> key.length() + response.body().length)
+                    .expireAfterWrite(config.getTimeToLive())
+                    .build();
+            this.resources = config.getResources().stream()
+                    .map(PathPatternParser.defaultInstance::parse)
+                    .collect(Collectors.toList());
+
+            Gauge.builder("gateway.response-cache.entries", entries, Cache::estimatedSize)
+                    .description("Responses held in the route's response cache")
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+            this.invalidations = Counter.builder("gateway.response-cache.invalidations")
+                    .description("Writes through the route that invalidated cached responses")
+                    .tag("route", routeId)
+                    .register(meterRegistry);
+        }
+
+        void record(String result) {
+            requests.computeIfAbsent(result, r -> Counter.builder("gateway.response-cache.requests")
+                    .description("GET requests on the route by cache outcome")
+                    .tag("route", routeId)
+                    .tag("result", r)
+                    .register(meterRegistry)).increment();
+        }
+
+        String key(ServerHttpRequest request) {
+            return FilterSupport.requestKey(request, config.getKeyHeaders());
+        }
+
+        String resource(String path) {
+            PathContainer container = PathContainer.parsePath(path);
+            for (PathPattern pattern : resources) {
+                PathPattern.PathMatchInfo match = pattern.matchAndExtract(container);
+                if (match != null) {
+                    return pattern.getPatternString() + match.getUriVariables();
+                }
+            }
+            return null;
+        }
+
+        /**
+         * How long a response with these headers may be served without revalidation, or
+         * {@code null} if it must not be stored at all.
+         */
+        Duration freshness(HttpHeaders headers) {
+            List<String> directives = directives(headers.getCacheControl());
+            if (directives.contains("no-store") || headers.containsKey(HttpHeaders.SET_COOKIE)
+                    || headers.getVary().contains("*")) {
+                return null;
+            }
+            Duration freshFor = config.getTimeToLive();
+            Long maxAge = null;
+            for (String directive : directives) {
+                if (directive.equals("no-cache")) {
+                    freshFor = Duration.ZERO;
+                } else if (directive.startsWith("s-maxage=")) {
+                    maxAge = seconds(directive, maxAge, true);
+                } else if (directive.startsWith("max-age=")) {
+                    maxAge = seconds(directive, maxAge, false);
+                }
+            }
+            if (maxAge != null && Duration.ofSeconds(maxAge).compareTo(freshFor) < 0) {
+                freshFor = Duration.ofSeconds(maxAge);
+            }
+            if (freshFor.isZero() && headers.getETag() == null && headers.getLastModified() < 0) {
+                return null;
+            }
+            return freshFor;
+        }
+
+        CachedResponse store(String key, HttpHeaders headers, byte[] body, String resource,
+                             Duration freshFor, long startEpoch, Instant now) {
+            CachedResponse response = new CachedResponse(FilterSupport.replayableHeaders(headers), body, resource,
+                    now, now.plus(freshFor));
+            if (epoch.get() == startEpoch) {
+                entries.put(key, response);
+                // A write that invalidated between the check and the put must not leave this behind
+                if (epoch.get() != startEpoch) {
+                    entries.asMap().remove(key, response);
+                }
+            }
+            return response;
+        }
+
+        void invalidate(String path) {
+            epoch.incrementAndGet();
+            String resource = resource(path);
+            if (resource == null) {
+                entries.invalidateAll();
+            } else {
+                entries.asMap().values().removeIf(response -> resource.equals(response.resource()));
+            }
+            invalidations.increment();
+        }
+
+        private static Long seconds(String directive, Long current, boolean shared) {
+            try {
+                long seconds = Long.parseLong(directive.substring(directive.indexOf('=') + 1).replace("\"", ""));
+                // s-maxage overrides max-age for a shared cache like this one
+                return shared || current == null ? seconds : current;
+            } catch (NumberFormatException e) {
+                return current;
+            }
+        }
+    }
+
+    @Data
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private Duration timeToLive = Duration.ofSeconds(30);
+        private DataSize size = DataSize.ofMegabytes(10);
+        private List<String> keyHeaders = List.of(HttpHeaders.ACCEPT, HttpHeaders.AUTHORIZATION);
+        private List<String> resources = new ArrayList<>();
+    }
+}
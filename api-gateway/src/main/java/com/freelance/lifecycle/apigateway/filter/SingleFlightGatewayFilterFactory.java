@@ -0,0 +1,142 @@
+package com.freelance.lifecycle.apigateway.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Collapses concurrent identical GETs on a route into one backend call. The first request for a
+ * key (path, query, the {@code keyHeaders} and the conditional headers) is forwarded; requests with
+ * the same key that arrive while it is in flight subscribe to its outcome instead of waiting on a
+ * thread, and get a copy of its status, headers and body. If the first request fails, is cancelled
+ * or gets a streaming response, the waiting ones are forwarded on their own. Requests arriving after
+ * the response was received start a new call, so nothing is served that was read before they came.
+ */
+@Component
+public class SingleFlightGatewayFilterFactory
+        extends AbstractGatewayFilterFactory<SingleFlightGatewayFilterFactory.Config> {
+
+    private static final List<String> CONDITIONAL_HEADERS = List.of(HttpHeaders.IF_NONE_MATCH, HttpHeaders.IF_MODIFIED_SINCE);
+
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlightGatewayFilterFactory(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        Map<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+        List<String> keyHeaders = new ArrayList<>(config.getKeyHeaders());
+        keyHeaders.addAll(CONDITIONAL_HEADERS);
+        Counter saved = Counter.builder("gateway.single-flight.saved")
+                .description("GET requests answered with the response of an identical request already in flight")
+                .tag("route", config.getRouteId())
+                .register(meterRegistry);
+
+        // Runs before NettyWriteResponseFilter so the backend body is written into our decorator
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            if (!HttpMethod.GET.equals(exchange.getRequest().getMethod())) {
+                return chain.filter(exchange);
+            }
+            String key = FilterSupport.requestKey(exchange.getRequest(), keyHeaders);
+            Sinks.One<SharedResponse> flight = Sinks.one();
+            Sinks.One<SharedResponse> existing = inFlight.putIfAbsent(key, flight);
+            if (existing == null) {
+                return lead(exchange, chain, () -> inFlight.remove(key, flight), flight);
+            }
+            return existing.asMono()
+                    .onErrorResume(e -> Mono.empty())
+                    .map(shared -> {
+                        saved.increment();
+                        return write(exchange.getResponse(), shared);
+                    })
+                    .defaultIfEmpty(Mono.defer(() -> chain.filter(exchange)))
+                    .flatMap(Function.identity());
+        }, NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1);
+    }
+
+    private static Mono<Void> lead(ServerWebExchange exchange, GatewayFilterChain chain, Runnable land,
+                                   Sinks.One<SharedResponse> flight) {
+        ServerHttpResponse response = new ServerHttpResponseDecorator(exchange.getResponse()) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                if (FilterSupport.isStreaming(getHeaders())) {
+                    land.run();
+                    flight.tryEmitEmpty();
+                    return super.writeWith(body);
+                }
+                return DataBufferUtils.join(body)
+                        .map(joined -> {
+                            byte[] bytes = new byte[joined.readableByteCount()];
+                            joined.read(bytes);
+                            DataBufferUtils.release(joined);
+                            return bytes;
+                        })
+                        .defaultIfEmpty(new byte[0])
+                        .flatMap(bytes -> {
+                            // Later requests must not get a response read before they arrived
+                            land.run();
+                            flight.tryEmitValue(new SharedResponse(getStatusCode(),
+                                    FilterSupport.replayableHeaders(getHeaders()), bytes));
+                            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                        });
+            }
+
+            @Override
+            public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+                land.run();
+                flight.tryEmitEmpty();
+                return super.writeAndFlushWith(body);
+            }
+        };
+        return chain.filter(exchange.mutate().response(response).build())
+                .doFinally(signal -> {
+                    // Failed or cancelled before a response: the waiting requests go to the backend themselves
+                    land.run();
+                    flight.tryEmitEmpty();
+                });
+    }
+
+    private static Mono<Void> write(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        HttpHeaders headers = response.getHeaders();
+        shared.headers().forEach(headers::put);
+        headers.setContentLength(shared.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    @Data
+    public static class Config implements HasRouteId {
+        private String routeId;
+        private List<String> keyHeaders = List.of(HttpHeaders.ACCEPT, HttpHeaders.AUTHORIZATION);
+    }
+}
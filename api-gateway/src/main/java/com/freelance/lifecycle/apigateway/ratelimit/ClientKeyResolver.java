@@ -0,0 +1,34 @@
+package com.freelance.lifecycle.apigateway.ratelimit;
+
+import org.springframework.cloud.gateway.filter.ratelimit.KeyResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.security.Principal;
+
+/**
+ * Rate-limits by authenticated user when there is one, otherwise by client IP. The IP is the
+ * connection's peer address; forwarding headers are ignored because any client can set them.
+ */
+@Component
+public class ClientKeyResolver implements KeyResolver {
+
+    @Override
+    public Mono<String> resolve(ServerWebExchange exchange) {
+        return exchange.getPrincipal()
+                .map(Principal::getName)
+                .filter(name -> !name.isBlank())
+                .map(name -> "user:" + name)
+                .switchIfEmpty(Mono.fromSupplier(() -> "ip:" + remoteIp(exchange)));
+    }
+
+    private static String remoteIp(ServerWebExchange exchange) {
+        InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+        if (remoteAddress == null) {
+            return "unknown";
+        }
+        return remoteAddress.getAddress() != null ? remoteAddress.getAddress().getHostAddress() : remoteAddress.getHostString();
+    }
+}
@@ -0,0 +1,113 @@
+package com.freelance.lifecycle.apigateway.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.ratelimit.AbstractRateLimiter;
+import org.springframework.cloud.gateway.support.ConfigurationService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process token bucket for the stock {@code RequestRateLimiter} filter, so rate limiting needs no
+ * Redis. Each route and client key gets a bucket of {@code burstCapacity} tokens refilled at
+ * {@code replenishRate} per second, configured per route under {@code local-rate-limiter.*}.
+ *
+ * <p>A bucket is a single {@link AtomicLong} holding the time at which it will be full again (the
+ * generic cell rate algorithm): a request is allowed if that time is at most a burst away and moves
+ * it one token later with a compare-and-set, so concurrent requests never lock. Idle buckets are
+ * evicted after {@code gateway.rate-limiter.idle-timeout}, which loses nothing once it exceeds the
+ * time a bucket takes to refill; {@code max-keys} bounds memory when clients churn faster than that.
+ */
+@Component
+public class LocalRateLimiter extends AbstractRateLimiter<LocalRateLimiter.Config> {
+
+    public static final String CONFIGURATION_PROPERTY_NAME = "local-rate-limiter";
+    public static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+    public static final String REPLENISH_RATE_HEADER = "X-RateLimit-Replenish-Rate";
+    public static final String BURST_CAPACITY_HEADER = "X-RateLimit-Burst-Capacity";
+
+    private final Cache<String, AtomicLong> buckets;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Counter> decisions = new ConcurrentHashMap<>();
+    private final Config defaultConfig = new Config();
+
+    public LocalRateLimiter(ConfigurationService configurationService,
+                            MeterRegistry meterRegistry,
+                            @Value("${gateway.rate-limiter.max-keys:100000}") long maxKeys,
+                            @Value("${gateway.rate-limiter.idle-timeout:10m}") Duration idleTimeout) {
+        super(Config.class, CONFIGURATION_PROPERTY_NAME, configurationService);
+        this.meterRegistry = meterRegistry;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(idleTimeout)
+                .build();
+
+        Gauge.builder("gateway.rate-limiter.keys", buckets, Cache::estimatedSize)
+                .description("Client buckets held by the local rate limiter")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Response> isAllowed(String routeId, String id) {
+        Config config = getConfig().getOrDefault(routeId, defaultConfig);
+        int replenishRate = Math.max(1, config.getReplenishRate());
+        int burstCapacity = Math.max(1, config.getBurstCapacity());
+        long interval = TimeUnit.SECONDS.toNanos(1) / replenishRate;
+        long burst = interval * burstCapacity;
+
+        long now = System.nanoTime();
+        AtomicLong fullAt = buckets.get(routeId + '\n' + id, key -> new AtomicLong(now));
+        Map<String, String> headers = new HashMap<>();
+        headers.put(REPLENISH_RATE_HEADER, String.valueOf(replenishRate));
+        headers.put(BURST_CAPACITY_HEADER, String.valueOf(burstCapacity));
+        while (true) {
+            long current = fullAt.get();
+            // nanoTime values are only comparable by difference
+            long next = (current - now > 0 ? current : now) + interval;
+            if (next - now > burst) {
+                long waitNanos = next - now - burst;
+                headers.put(REMAINING_HEADER, "0");
+                headers.put(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ceilSeconds(waitNanos))));
+                record(routeId, "denied");
+                return Mono.just(new Response(false, headers));
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                headers.put(REMAINING_HEADER, String.valueOf((burst - (next - now)) / interval));
+                record(routeId, "allowed");
+                return Mono.just(new Response(true, headers));
+            }
+        }
+    }
+
+    private void record(String routeId, String result) {
+        decisions.computeIfAbsent(routeId + '\n' + result, key -> Counter.builder("gateway.rate-limiter.requests")
+                .description("Requests checked by the local rate limiter by decision")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry)).increment();
+    }
+
+    private static long ceilSeconds(long nanos) {
+        long second = TimeUnit.SECONDS.toNanos(1);
+        return (nanos + second - 1) / second;
+    }
+
+    @Data
+    public static class Config {
+        private int replenishRate = 10;
+        private int burstCapacity = 20;
+    }
+}
@@ -0,0 +1,191 @@
+package com.freelance.lifecycle.apigateway.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.freelance.lifecycle.apigateway.dto.DashboardDTO;
+import com.freelance.lifecycle.apigateway.filter.LoadSheddingGatewayFilterFactory;
+import com.freelance.lifecycle.apigateway.ratelimit.LocalRateLimiter;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Builds a user's dashboard from application-service and notification-service. The calls are
+ * made concurrently and each has its own timeout, so the dashboard takes about as long as the
+ * slowest call (at most {@code dashboard.call-timeout}) and a slow or failing backend only costs
+ * its own part.
+ *
+ * <p>The calls skip the routes but not their protections: each one goes through the same rate
+ * limiter bucket, load-shedding limit, circuit breaker and bulkhead as a request on the route of
+ * its backend, in the order the route's filters apply them.
+ */
+@Service
+@Slf4j
+public class DashboardService {
+
+    public static final int PARTS = 3;
+    public static final String RATE_LIMITED = "rate limited";
+
+    private static final String APPLICATION_ROUTE = "application-service";
+    private static final String NOTIFICATION_ROUTE = "notification-service";
+    // The statuses the routes' CircuitBreaker filters count as failures
+    private static final Set<Integer> BREAKER_STATUSES = Set.of(502, 503, 504);
+
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final LocalRateLimiter rateLimiter;
+    private final LoadSheddingGatewayFilterFactory loadShedding;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final BulkheadRegistry bulkheadRegistry;
+    private final String applicationServiceUrl;
+    private final String notificationServiceUrl;
+    private final Duration callTimeout;
+    private final int pageSize;
+
+    public DashboardService(WebClient.Builder webClientBuilder,
+                            MeterRegistry meterRegistry,
+                            LocalRateLimiter rateLimiter,
+                            LoadSheddingGatewayFilterFactory loadShedding,
+                            CircuitBreakerRegistry circuitBreakerRegistry,
+                            BulkheadRegistry bulkheadRegistry,
+                            @Value("${services.application-service-url:http://application-service:8080}") String applicationServiceUrl,
+                            @Value("${services.notification-service-url:http://notification-service:8083}") String notificationServiceUrl,
+                            @Value("${dashboard.call-timeout:1500ms}") Duration callTimeout,
+                            @Value("${dashboard.page-size:20}") int pageSize) {
+        this.webClient = webClientBuilder.build();
+        this.meterRegistry = meterRegistry;
+        this.rateLimiter = rateLimiter;
+        this.loadShedding = loadShedding;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.bulkheadRegistry = bulkheadRegistry;
+        this.applicationServiceUrl = applicationServiceUrl;
+        this.notificationServiceUrl = notificationServiceUrl;
+        this.callTimeout = callTimeout;
+        this.pageSize = pageSize;
+    }
+
+    // clientKey is the rate limiter key of the caller, as the ClientKeyResolver resolves it
+    public Mono<DashboardDTO> getDashboard(Long userId, String authorization, String clientKey) {
+        Map<String, String> errors = new ConcurrentHashMap<>();
+        Mono<Optional<JsonNode>> applications = call("applications", APPLICATION_ROUTE,
+                applicationServiceUrl + "/api/v1/applications/user/{userId}?limit={limit}", userId, authorization,
+                clientKey, errors);
+        Mono<Optional<JsonNode>> notifications = call("notifications", NOTIFICATION_ROUTE,
+                notificationServiceUrl + "/api/v1/notifications/user/{userId}?limit={limit}", userId, authorization,
+                clientKey, errors);
+        Mono<Optional<JsonNode>> unreadCount = call("unreadCount", NOTIFICATION_ROUTE,
+                notificationServiceUrl + "/api/v1/notifications/user/{userId}/unread-count", userId, authorization,
+                clientKey, errors);
+
+        return Mono.zip(applications, notifications, unreadCount)
+                .map(parts -> new DashboardDTO(userId,
+                        parts.getT1().orElse(null),
+                        parts.getT2().orElse(null),
+                        parts.getT3().orElse(null),
+                        new TreeMap<>(errors)));
+    }
+
+    private Mono<Optional<JsonNode>> call(String part, String routeId, String uri, Long userId, String authorization,
+                                          String clientKey, Map<String, String> errors) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Mono<Optional<JsonNode>> request = webClient.get()
+                .uri(uri, userId, pageSize)
+                .headers(headers -> {
+                    if (authorization != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                    }
+                })
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(callTimeout)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .doOnNext(body -> sample.stop(timer(part, "success")))
+                // Settled inside the breaker, so a 404 or 400 does not count against the backend
+                .onErrorResume(e -> !countsAsBackendFailure(e), e -> failed(part, userId, e, sample, errors));
+
+        Mono<Optional<JsonNode>> guarded = loadShedding.limit(routeId, request
+                .transformDeferred(BulkheadOperator.of(bulkheadRegistry.bulkhead(routeId)))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreakerRegistry.circuitBreaker(routeId))));
+        return rateLimiter.isAllowed(routeId, clientKey)
+                .flatMap(response -> response.isAllowed() ? guarded : Mono.<Optional<JsonNode>>error(new RateLimitedException()))
+                .onErrorResume(e -> failed(part, userId, e, sample, errors));
+    }
+
+    private Mono<Optional<JsonNode>> failed(String part, Long userId, Throwable e, Timer.Sample sample,
+                                            Map<String, String> errors) {
+        sample.stop(timer(part, outcome(e)));
+        String error = describe(e);
+        log.warn("Dashboard part {} for user {} failed: {}", part, userId, error);
+        errors.put(part, error);
+        return Mono.just(Optional.empty());
+    }
+
+    private static boolean countsAsBackendFailure(Throwable e) {
+        return !(e instanceof WebClientResponseException responseException)
+                || BREAKER_STATUSES.contains(responseException.getStatusCode().value());
+    }
+
+    private static String outcome(Throwable e) {
+        if (e instanceof TimeoutException) {
+            return "timeout";
+        }
+        if (e instanceof RateLimitedException || e instanceof LoadSheddingGatewayFilterFactory.OverloadedException
+                || e instanceof CallNotPermittedException || e instanceof BulkheadFullException) {
+            return "rejected";
+        }
+        return "error";
+    }
+
+    private String describe(Throwable e) {
+        if (e instanceof TimeoutException) {
+            return "timed out after " + callTimeout.toMillis() + " ms";
+        }
+        if (e instanceof WebClientResponseException responseException) {
+            return "backend answered " + responseException.getStatusCode().value();
+        }
+        if (e instanceof RateLimitedException) {
+            return RATE_LIMITED;
+        }
+        if (e instanceof LoadSheddingGatewayFilterFactory.OverloadedException) {
+            return "backend overloaded";
+        }
+        if (e instanceof CallNotPermittedException) {
+            return "circuit breaker open";
+        }
+        if (e instanceof BulkheadFullException) {
+            return "bulkhead full";
+        }
+        return "backend unavailable";
+    }
+
+    private Timer timer(String part, String outcome) {
+        return Timer.builder("gateway.dashboard.calls")
+                .description("Backend calls made to build dashboards")
+                .tag("part", part)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static final class RateLimitedException extends RuntimeException {
+    }
+}
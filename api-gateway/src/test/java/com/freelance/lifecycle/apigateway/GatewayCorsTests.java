@@ -0,0 +1,41 @@
+package com.freelance.lifecycle.apigateway;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Preflights answered by the gateway itself: credentials are only offered to the listed origins.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "gateway.cors.allowed-origins=https://app.example.com,https://admin.example.com")
+class GatewayCorsTests {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Test
+    void listedOriginIsAllowedWithCredentials() {
+        preflight("https://admin.example.com")
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "https://admin.example.com")
+                .expectHeader().valueEquals(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS, "true");
+    }
+
+    @Test
+    void otherOriginIsRejected() {
+        preflight("https://evil.example.com")
+                .expectStatus().isForbidden()
+                .expectHeader().doesNotExist(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN);
+    }
+
+    private WebTestClient.ResponseSpec preflight(String origin) {
+        return webTestClient.options().uri("/api/v1/applications/project/7")
+                .header(HttpHeaders.ORIGIN, origin)
+                .header(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, HttpMethod.GET.name())
+                .exchange();
+    }
+}
@@ -0,0 +1,185 @@
+package com.freelance.lifecycle.apigateway;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the gateway against a local stub of both services whose latency each test sets. Every
+ * request has its own query string so the response cache and single-flight do not answer it.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "resilience4j.timelimiter.instances.notification-service.timeout-duration=300ms",
+        "resilience4j.circuitbreaker.instances.notification-service.sliding-window-size=4",
+        "resilience4j.circuitbreaker.instances.notification-service.minimum-number-of-calls=4",
+        "resilience4j.circuitbreaker.instances.notification-service.wait-duration-in-open-state=1m",
+        "resilience4j.circuitbreaker.instances.notification-service.automatic-transition-from-open-to-half-open-enabled=false",
+        "resilience4j.bulkhead.instances.application-service.max-concurrent-calls=2"
+})
+class GatewayResilienceTests {
+
+    private static final Map<String, Duration> delays = new ConcurrentHashMap<>();
+    private static final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private static DisposableServer stub;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    private final AtomicInteger requestCounter = new AtomicInteger();
+
+    @BeforeAll
+    static void startStub() {
+        // Like the real services, the stub only serves /api/v1/applications/** and /api/v1/notifications/**
+        stub = HttpServer.create()
+                .port(0)
+                .handle((request, response) -> {
+                    String[] segments = request.path().split("/");
+                    if (segments.length < 3 || !"api".equals(segments[0]) || !"v1".equals(segments[1])
+                            || !List.of("applications", "notifications").contains(segments[2])) {
+                        return response.status(HttpStatus.NOT_FOUND.value()).send();
+                    }
+                    String service = segments[2];
+                    calls.computeIfAbsent(service, key -> new AtomicInteger()).incrementAndGet();
+                    return Mono.delay(delays.getOrDefault(service, Duration.ZERO))
+                            .then(response.header("Content-Type", "application/json").sendString(Mono.just("[]")).then());
+                })
+                .bindNow();
+    }
+
+    @AfterAll
+    static void stopStub() {
+        stub.disposeNow();
+    }
+
+    @DynamicPropertySource
+    static void services(DynamicPropertyRegistry registry) {
+        registry.add("services.application-service-url", () -> "http://localhost:" + stub.port());
+        registry.add("services.notification-service-url", () -> "http://localhost:" + stub.port());
+    }
+
+    @BeforeEach
+    void reset() {
+        delays.clear();
+        calls.clear();
+        circuitBreakerRegistry.getAllCircuitBreakers().forEach(CircuitBreaker::reset);
+    }
+
+    @Test
+    void forwardsTheApiPathUnchanged() {
+        assertThat(get("/api/v1/applications/user/3").getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(get("/api/v1/notifications/user/3/unread-count").getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(calls.get("applications")).hasValue(1);
+        assertThat(calls.get("notifications")).hasValue(1);
+    }
+
+    @Test
+    void notificationAdminIsNotForwarded() {
+        assertThat(get("/api/v1/notifications/admin/dead-letters").getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(calls).doesNotContainKey("notifications");
+    }
+
+    @Test
+    void slowNotificationServiceOpensItsBreakerWithoutSlowingApplications() {
+        delays.put("notifications", Duration.ofSeconds(3));
+
+        for (int i = 0; i < 4; i++) {
+            long start = System.nanoTime();
+            ResponseEntity<JsonNode> response = get("/api/v1/notifications/user/1");
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+            assertThat(response.getBody().get("reason").asText()).isEqualTo("timeout");
+        }
+
+        // The breaker is open: answered at once without calling the service
+        long start = System.nanoTime();
+        ResponseEntity<JsonNode> rejected = get("/api/v1/notifications/user/1");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofMillis(250));
+        assertThat(rejected.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(rejected.getBody().get("reason").asText()).isEqualTo("circuit-open");
+        assertThat(rejected.getHeaders().getFirst("Retry-After")).isEqualTo("60");
+        assertThat(calls.get("notifications")).hasValue(4);
+
+        ResponseEntity<JsonNode> applications = get("/api/v1/applications/user/1");
+        assertThat(applications.getStatusCode()).isEqualTo(HttpStatus.OK);
+
+        Map<String, JsonNode> routes = resilience();
+        assertThat(routes.get("notification-service").get("circuitBreakerState").asText()).isEqualTo("OPEN");
+        assertThat(routes.get("notification-service").get("notPermittedCalls").asLong()).isEqualTo(1);
+        assertThat(routes.get("application-service").get("circuitBreakerState").asText()).isEqualTo("CLOSED");
+    }
+
+    @Test
+    void bulkheadRejectsCallsOverTheRouteLimit() {
+        delays.put("applications", Duration.ofMillis(500));
+
+        List<ResponseEntity<JsonNode>> responses = Flux.range(0, 4)
+                .flatMap(i -> Mono.fromCallable(() -> get("/api/v1/applications/user/2"))
+                        .subscribeOn(Schedulers.boundedElastic()))
+                .collectList()
+                .block();
+
+        Map<HttpStatus, List<ResponseEntity<JsonNode>>> byStatus = responses.stream()
+                .collect(Collectors.groupingBy(response -> HttpStatus.valueOf(response.getStatusCode().value())));
+        assertThat(byStatus.get(HttpStatus.OK)).hasSize(2);
+        assertThat(byStatus.get(HttpStatus.SERVICE_UNAVAILABLE)).hasSize(2)
+                .allSatisfy(response -> assertThat(response.getBody().get("reason").asText()).isEqualTo("bulkhead-full"));
+        assertThat(calls.get("applications")).hasValue(2);
+
+        JsonNode route = resilience().get("application-service");
+        assertThat(route.get("bulkheadRejectedCalls").asLong()).isEqualTo(2);
+        assertThat(route.get("bulkheadAvailableConcurrentCalls").asInt()).isEqualTo(2);
+        // Rejected by the bulkhead is not a backend failure
+        assertThat(route.get("failedCalls").asInt()).isZero();
+    }
+
+    private ResponseEntity<JsonNode> get(String path) {
+        return client().get()
+                .uri(path + "?request=" + requestCounter.incrementAndGet())
+                .exchangeToMono(response -> response.toEntity(JsonNode.class))
+                .block(Duration.ofSeconds(10));
+    }
+
+    private Map<String, JsonNode> resilience() {
+        JsonNode routes = client().get()
+                .uri("/actuator/gateway/resilience")
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .block(Duration.ofSeconds(10));
+        Map<String, JsonNode> byRoute = new ConcurrentHashMap<>();
+        routes.forEach(route -> byRoute.put(route.get("route").asText(), route));
+        return byRoute;
+    }
+
+    private WebClient client() {
+        return WebClient.create("http://localhost:" + port);
+    }
+}
@@ -0,0 +1,83 @@
+package com.freelance.lifecycle.apigateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LoadSheddingGatewayFilterFactoryTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        LoadSheddingGatewayFilterFactory.Config config = new LoadSheddingGatewayFilterFactory.Config();
+        config.setRouteId("notification-service");
+        config.setMaxConcurrency(2);
+        config.setMinConcurrency(1);
+        config.setLatencyThreshold(Duration.ofMillis(20));
+        config.setRetryAfter(Duration.ofSeconds(2));
+        filter = new LoadSheddingGatewayFilterFactory(meterRegistry).apply(config);
+    }
+
+    @Test
+    void shedsRequestsOverTheLimitWithRetryAfter() throws InterruptedException {
+        Sinks.Empty<Void> backend = Sinks.empty();
+        CompletableFuture<Void> first = filter.filter(exchange(), e -> backend.asMono()).toFuture();
+        CompletableFuture<Void> second = filter.filter(exchange(), e -> backend.asMono()).toFuture();
+
+        MockServerWebExchange shed = exchange();
+        filter.filter(shed, e -> Mono.error(new AssertionError("must not reach the backend"))).block();
+        assertThat(shed.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(shed.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(meterRegistry.get("gateway.load-shedding.shed").counter().count()).isEqualTo(1);
+
+        backend.tryEmitEmpty();
+        CompletableFuture.allOf(first, second).join();
+        waitFor(() -> meterRegistry.get("gateway.load-shedding.in-flight").gauge().value() == 0);
+        MockServerWebExchange admitted = exchange();
+        filter.filter(admitted, e -> Mono.empty()).block();
+        assertThat(admitted.getResponse().getStatusCode()).isNotEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    @Test
+    void lowersTheLimitWhenTheBackendSlowsDown() throws InterruptedException {
+        Thread.sleep(20);
+        filter.filter(exchange(), e -> Mono.delay(Duration.ofMillis(60)).then()).block();
+        // The slot is released in doFinally, which may run just after block() returns
+        waitFor(() -> meterRegistry.get("gateway.load-shedding.limit").gauge().value() == 1);
+
+        Sinks.Empty<Void> backend = Sinks.empty();
+        filter.filter(exchange(), e -> backend.asMono()).subscribe();
+        MockServerWebExchange shed = exchange();
+        filter.filter(shed, e -> Mono.empty()).block();
+        assertThat(shed.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        backend.tryEmitEmpty();
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/notifications/user/1"));
+    }
+}
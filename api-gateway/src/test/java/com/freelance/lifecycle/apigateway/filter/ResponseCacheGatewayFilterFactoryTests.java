@@ -0,0 +1,144 @@
+package com.freelance.lifecycle.apigateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheGatewayFilterFactoryTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+    private final List<ServerHttpRequest> backendRequests = new ArrayList<>();
+    private String backendBody = "v1";
+    private String backendETag;
+    private String backendCacheControl;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        ResponseCacheGatewayFilterFactory.Config config = new ResponseCacheGatewayFilterFactory.Config();
+        config.setRouteId("notification-service");
+        config.setTimeToLive(Duration.ofMinutes(1));
+        config.setResources(List.of("/api/v1/notifications/user/{userId}/**"));
+        filter = new ResponseCacheGatewayFilterFactory(meterRegistry).apply(config);
+    }
+
+    @Test
+    void servesRepeatedGetsFromTheCache() {
+        MockServerWebExchange first = send(MockServerHttpRequest.get("/api/v1/notifications/user/1/unread-count"));
+        MockServerWebExchange second = send(MockServerHttpRequest.get("/api/v1/notifications/user/1/unread-count"));
+
+        assertThat(backendRequests).hasSize(1);
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("v1");
+        assertThat(second.getResponse().getHeaders().getFirst(HttpHeaders.AGE)).isEqualTo("0");
+        assertThat(first.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(requests("miss")).isEqualTo(1);
+        assertThat(requests("hit")).isEqualTo(1);
+    }
+
+    @Test
+    void revalidatesNoCacheResponsesWithTheirETag() {
+        backendETag = "\"v1\"";
+        backendCacheControl = "no-cache, private";
+        send(MockServerHttpRequest.get("/api/v1/notifications/user/1"));
+
+        MockServerWebExchange revalidated = send(MockServerHttpRequest.get("/api/v1/notifications/user/1"));
+        assertThat(backendRequests).hasSize(2);
+        assertThat(backendRequests.get(1).getHeaders().getIfNoneMatch()).containsExactly("\"v1\"");
+        assertThat(revalidated.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(revalidated.getResponse().getBodyAsString().block()).isEqualTo("v1");
+
+        MockServerWebExchange conditional = send(MockServerHttpRequest.get("/api/v1/notifications/user/1")
+                .ifNoneMatch("\"v1\""));
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(requests("revalidated")).isEqualTo(2);
+    }
+
+    @Test
+    void writesInvalidateOnlyTheResourceTheyTarget() {
+        send(MockServerHttpRequest.get("/api/v1/notifications/user/1"));
+        send(MockServerHttpRequest.get("/api/v1/notifications/user/2"));
+        backendBody = "v2";
+
+        send(MockServerHttpRequest.patch("/api/v1/notifications/user/1/read-all"));
+        MockServerWebExchange user1 = send(MockServerHttpRequest.get("/api/v1/notifications/user/1"));
+        MockServerWebExchange user2 = send(MockServerHttpRequest.get("/api/v1/notifications/user/2"));
+
+        assertThat(user1.getResponse().getBodyAsString().block()).isEqualTo("v2");
+        assertThat(user2.getResponse().getBodyAsString().block()).isEqualTo("v1");
+
+        // Not under a resource pattern: clears the whole route
+        send(MockServerHttpRequest.patch("/api/v1/notifications/5/read"));
+        user2 = send(MockServerHttpRequest.get("/api/v1/notifications/user/2"));
+        assertThat(user2.getResponse().getBodyAsString().block()).isEqualTo("v2");
+    }
+
+    @Test
+    void keysOnTheConfiguredHeaders() {
+        send(MockServerHttpRequest.get("/api/v1/notifications/user/1").header(HttpHeaders.AUTHORIZATION, "Bearer a"));
+        send(MockServerHttpRequest.get("/api/v1/notifications/user/1").header(HttpHeaders.AUTHORIZATION, "Bearer b"));
+        send(MockServerHttpRequest.get("/api/v1/notifications/user/1").header(HttpHeaders.AUTHORIZATION, "Bearer a"));
+
+        assertThat(backendRequests).hasSize(2);
+    }
+
+    @Test
+    void doesNotStoreNoStoreResponses() {
+        backendCacheControl = "no-store";
+        send(MockServerHttpRequest.get("/api/v1/notifications/user/1"));
+        send(MockServerHttpRequest.get("/api/v1/notifications/user/1"));
+
+        assertThat(backendRequests).hasSize(2);
+    }
+
+    private MockServerWebExchange send(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, backend()).block();
+        return exchange;
+    }
+
+    private GatewayFilterChain backend() {
+        return exchange -> {
+            ServerHttpRequest request = exchange.getRequest();
+            backendRequests.add(request);
+            ServerHttpResponse response = exchange.getResponse();
+            if (backendETag != null && request.getHeaders().getIfNoneMatch().contains(backendETag)) {
+                response.setStatusCode(HttpStatus.NOT_MODIFIED);
+                response.getHeaders().setETag(backendETag);
+                return response.writeWith(Mono.empty());
+            }
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            if (backendETag != null) {
+                response.getHeaders().setETag(backendETag);
+            }
+            if (backendCacheControl != null) {
+                response.getHeaders().setCacheControl(backendCacheControl);
+            }
+            byte[] body = backendBody.getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        };
+    }
+
+    private double requests(String result) {
+        return meterRegistry.get("gateway.response-cache.requests").tag("result", result).counter().count();
+    }
+}
@@ -0,0 +1,109 @@
+package com.freelance.lifecycle.apigateway.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightGatewayFilterFactoryTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private GatewayFilter filter;
+    private final AtomicInteger backendCalls = new AtomicInteger();
+    private Sinks.Empty<Void> release;
+    private boolean failFirstCall;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        SingleFlightGatewayFilterFactory.Config config = new SingleFlightGatewayFilterFactory.Config();
+        config.setRouteId("notification-service");
+        filter = new SingleFlightGatewayFilterFactory(meterRegistry).apply(config);
+        release = Sinks.empty();
+    }
+
+    @Test
+    void concurrentIdenticalGetsShareOneBackendCall() {
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/v1/notifications/user/1/unread-count"));
+        MockServerWebExchange second = exchange(MockServerHttpRequest.get("/api/v1/notifications/user/1/unread-count"));
+        CompletableFuture<Void> firstDone = filter.filter(first, backend()).toFuture();
+        CompletableFuture<Void> secondDone = filter.filter(second, backend()).toFuture();
+
+        release.tryEmitEmpty();
+        firstDone.join();
+        secondDone.join();
+
+        assertThat(backendCalls).hasValue(1);
+        assertThat(second.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("3");
+        assertThat(meterRegistry.get("gateway.single-flight.saved").counter().count()).isEqualTo(1);
+
+        // The flight has landed: a new request goes to the backend again
+        release = Sinks.empty();
+        release.tryEmitEmpty();
+        filter.filter(exchange(MockServerHttpRequest.get("/api/v1/notifications/user/1/unread-count")), backend()).block();
+        assertThat(backendCalls).hasValue(2);
+    }
+
+    @Test
+    void doesNotShareAcrossCredentials() {
+        CompletableFuture<Void> first = filter.filter(exchange(MockServerHttpRequest.get("/api/v1/notifications/user/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer a")), backend()).toFuture();
+        CompletableFuture<Void> second = filter.filter(exchange(MockServerHttpRequest.get("/api/v1/notifications/user/1")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer b")), backend()).toFuture();
+
+        release.tryEmitEmpty();
+        CompletableFuture.allOf(first, second).join();
+
+        assertThat(backendCalls).hasValue(2);
+    }
+
+    @Test
+    void waitersCallTheBackendThemselvesWhenTheFirstRequestFails() {
+        failFirstCall = true;
+        CompletableFuture<Void> first = filter.filter(exchange(MockServerHttpRequest.get("/api/v1/notifications/user/1")),
+                backend()).toFuture();
+        MockServerWebExchange waiter = exchange(MockServerHttpRequest.get("/api/v1/notifications/user/1"));
+        CompletableFuture<Void> second = filter.filter(waiter, backend()).toFuture();
+
+        release.tryEmitEmpty();
+        assertThat(first).failsWithin(Duration.ofSeconds(5));
+        second.join();
+
+        assertThat(backendCalls).hasValue(2);
+        assertThat(waiter.getResponse().getBodyAsString().block()).isEqualTo("3");
+    }
+
+    private static MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        return MockServerWebExchange.from(request);
+    }
+
+    private GatewayFilterChain backend() {
+        return exchange -> release.asMono().then(Mono.defer(() -> {
+            if (backendCalls.incrementAndGet() == 1 && failFirstCall) {
+                return Mono.error(new IllegalStateException("connection reset"));
+            }
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap("3".getBytes(StandardCharsets.UTF_8))));
+        }));
+    }
+}
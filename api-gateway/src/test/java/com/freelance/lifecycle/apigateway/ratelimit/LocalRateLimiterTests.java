@@ -0,0 +1,71 @@
+package com.freelance.lifecycle.apigateway.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.ratelimit.RateLimiter;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LocalRateLimiterTests {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LocalRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new LocalRateLimiter(null, meterRegistry, 1000, Duration.ofMinutes(10));
+        LocalRateLimiter.Config config = new LocalRateLimiter.Config();
+        config.setReplenishRate(1);
+        config.setBurstCapacity(5);
+        rateLimiter.getConfig().put("notification-service", config);
+    }
+
+    @Test
+    void allowsABurstThenDeniesWithRetryAfter() {
+        for (int i = 4; i >= 0; i--) {
+            RateLimiter.Response response = rateLimiter.isAllowed("notification-service", "ip:10.0.0.1").block();
+            assertThat(response.isAllowed()).isTrue();
+            assertThat(response.getHeaders()).containsEntry(LocalRateLimiter.REMAINING_HEADER, String.valueOf(i));
+        }
+
+        RateLimiter.Response denied = rateLimiter.isAllowed("notification-service", "ip:10.0.0.1").block();
+        assertThat(denied.isAllowed()).isFalse();
+        assertThat(denied.getHeaders()).containsEntry(HttpHeaders.RETRY_AFTER, "1");
+
+        // Other clients and other routes have buckets of their own
+        assertThat(rateLimiter.isAllowed("notification-service", "ip:10.0.0.2").block().isAllowed()).isTrue();
+        assertThat(rateLimiter.isAllowed("application-service", "ip:10.0.0.1").block().isAllowed()).isTrue();
+        assertThat(meterRegistry.get("gateway.rate-limiter.requests").tag("result", "denied").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedTheBurst() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> decisions = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                decisions.add(executor.submit(() ->
+                        rateLimiter.isAllowed("notification-service", "user:42").block().isAllowed()));
+            }
+            int allowed = 0;
+            for (Future<Boolean> decision : decisions) {
+                allowed += decision.get() ? 1 : 0;
+            }
+            // Five from the burst, plus at most one refilled while the test ran
+            assertThat(allowed).isBetween(5, 6);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.freelance.lifecycle.apigateway.service;
+
+import com.freelance.lifecycle.apigateway.dto.DashboardDTO;
+import com.freelance.lifecycle.apigateway.filter.LoadSheddingGatewayFilterFactory;
+import com.freelance.lifecycle.apigateway.ratelimit.LocalRateLimiter;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DashboardServiceTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final LocalRateLimiter rateLimiter = new LocalRateLimiter(null, meterRegistry, 1000, Duration.ofMinutes(10));
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private final List<String> calledPaths = new CopyOnWriteArrayList<>();
+
+    @Test
+    void callsTheBackendsConcurrently() {
+        DashboardService service = service(Map.of(
+                "/api/v1/applications/user/7", Duration.ofMillis(300),
+                "/api/v1/notifications/user/7", Duration.ofMillis(300),
+                "/api/v1/notifications/user/7/unread-count", Duration.ofMillis(300)));
+
+        long start = System.nanoTime();
+        DashboardDTO dashboard = service.getDashboard(7L, "Bearer t", "ip:10.0.0.1").block();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(elapsed).isLessThan(Duration.ofMillis(800));
+        assertThat(dashboard.getApplications().get(0).get("path").asText()).isEqualTo("/api/v1/applications/user/7");
+        assertThat(dashboard.getApplications().get(0).get("query").asText()).isEqualTo("limit=20");
+        assertThat(dashboard.getNotifications().get(0).get("authorization").asText()).isEqualTo("Bearer t");
+        assertThat(dashboard.getUnreadCount()).isNotNull();
+        assertThat(dashboard.getErrors()).isEmpty();
+    }
+
+    @Test
+    void returnsThePartsThatAnsweredInTime() {
+        DashboardService service = service(Map.of(
+                "/api/v1/applications/user/7", Duration.ofSeconds(5),
+                "/api/v1/notifications/user/7", Duration.ZERO));
+
+        long start = System.nanoTime();
+        DashboardDTO dashboard = service.getDashboard(7L, null, "ip:10.0.0.1").block();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(2));
+        assertThat(dashboard.getApplications()).isNull();
+        assertThat(dashboard.getNotifications()).isNotNull();
+        assertThat(dashboard.getUnreadCount()).isNull();
+        assertThat(dashboard.getErrors())
+                .containsEntry("applications", "timed out after 500 ms")
+                .containsEntry("unreadCount", "backend answered 503");
+        assertThat(meterRegistry.get("gateway.dashboard.calls").tag("outcome", "timeout").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void callsCountAgainstTheRouteRateLimits() {
+        LocalRateLimiter.Config config = new LocalRateLimiter.Config();
+        config.setReplenishRate(1);
+        config.setBurstCapacity(2);
+        rateLimiter.getConfig().put("notification-service", config);
+        DashboardService service = service(Map.of(
+                "/api/v1/applications/user/7", Duration.ZERO,
+                "/api/v1/notifications/user/7", Duration.ZERO,
+                "/api/v1/notifications/user/7/unread-count", Duration.ZERO));
+
+        assertThat(service.getDashboard(7L, null, "ip:10.0.0.1").block().getErrors()).isEmpty();
+        DashboardDTO limited = service.getDashboard(7L, null, "ip:10.0.0.1").block();
+
+        // Both notification calls share the route's bucket, which the first dashboard emptied
+        assertThat(limited.getApplications()).isNotNull();
+        assertThat(limited.getErrors()).containsOnly(
+                Map.entry("notifications", DashboardService.RATE_LIMITED),
+                Map.entry("unreadCount", DashboardService.RATE_LIMITED));
+        assertThat(service.getDashboard(7L, null, "ip:10.0.0.2").block().getErrors()).isEmpty();
+    }
+
+    @Test
+    void openBreakerSkipsTheBackend() {
+        circuitBreakerRegistry.circuitBreaker("application-service").transitionToOpenState();
+        DashboardService service = service(Map.of("/api/v1/applications/user/7", Duration.ZERO));
+
+        DashboardDTO dashboard = service.getDashboard(7L, null, "ip:10.0.0.1").block();
+
+        assertThat(dashboard.getErrors()).containsEntry("applications", "circuit breaker open");
+        assertThat(calledPaths).doesNotContain("/api/v1/applications/user/7");
+        assertThat(meterRegistry.get("gateway.dashboard.calls").tag("outcome", "rejected").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void onlyGatewayErrorsCountAgainstTheBreaker() {
+        DashboardService service = service(Map.of(
+                "/api/v1/notifications/user/7", Duration.ZERO,
+                "/api/v1/notifications/user/7/unread-count", Duration.ZERO), HttpStatus.NOT_FOUND);
+
+        DashboardDTO dashboard = service.getDashboard(7L, null, "ip:10.0.0.1").block();
+
+        assertThat(dashboard.getErrors()).containsEntry("applications", "backend answered 404");
+        CircuitBreaker.Metrics metrics = circuitBreakerRegistry.circuitBreaker("application-service").getMetrics();
+        assertThat(metrics.getNumberOfFailedCalls()).isZero();
+        assertThat(metrics.getNumberOfSuccessfulCalls()).isEqualTo(1);
+    }
+
+    private DashboardService service(Map<String, Duration> delays) {
+        return service(delays, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * A backend that answers the paths in {@code delays} after that delay, echoing the request,
+     * and every other path with {@code otherwise}.
+     */
+    private DashboardService service(Map<String, Duration> delays, HttpStatus otherwise) {
+        ExchangeFunction backend = request -> {
+            String path = request.url().getPath();
+            calledPaths.add(path);
+            Duration delay = delays.get(path);
+            if (delay == null) {
+                return Mono.just(ClientResponse.create(otherwise).build());
+            }
+            String authorization = request.headers().getFirst(HttpHeaders.AUTHORIZATION);
+            String body = "[{\"path\":\"" + path + "\",\"query\":\"" + request.url().getQuery()
+                    + "\",\"authorization\":\"" + authorization + "\"}]";
+            return Mono.delay(delay).thenReturn(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body(body)
+                    .build());
+        };
+        return new DashboardService(WebClient.builder().exchangeFunction(backend), meterRegistry, rateLimiter,
+                new LoadSheddingGatewayFilterFactory(meterRegistry), circuitBreakerRegistry, BulkheadRegistry.ofDefaults(),
+                "http://application-service:8080", "http://notification-service:8083", Duration.ofMillis(500), 20);
+    }
+}
@@ -0,0 +1,34 @@
+package com.freelance.lifecycle.applicationservice.config;
+
+import com.freelance.lifecycle.applicationservice.dto.CursorPageDTO;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Cache provider and cache names are set through {@code spring.cache.*}; the
+ * {@code no-cache} profile switches caching off for latency comparisons. Each cache
+ * holds at most {@code applications.cache.max-rows} listed applications in total.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String APPLICATIONS_BY_PROJECT = "applicationsByProject";
+    public static final String APPLICATIONS_BY_FREELANCER = "applicationsByFreelancer";
+
+    // Picked up by Spring Boot's Caffeine cache manager as long as spring.cache.caffeine.spec is unset
+    @Bean
+    public Caffeine<Object, Object> caffeineConfig(@Value("${applications.cache.max-rows:100000}") long maxRows,
+                                                   @Value("${applications.cache.expire-after-write:60s}") Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumWeight(maxRows)
+                .weigher((Object key, Object value) -> value instanceof CursorPageDTO<?> page ? page.getItems().size() : 1)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats();
+    }
+}
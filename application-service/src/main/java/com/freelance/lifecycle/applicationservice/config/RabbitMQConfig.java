@@ -1,21 +1,35 @@
 package com.freelance.lifecycle.applicationservice.config;
 
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.CustomExchange;
+import org.springframework.amqp.core.Declarables;
 import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
+@Slf4j
 public class RabbitMQConfig {
 
     public static final String NOTIFICATIONS_QUEUE = "notifications.queue";
+    public static final String NOTIFICATIONS_SHARDED_EXCHANGE = "notifications.sharded";
 
     @Bean
     public Queue notificationsQueue() {
         return new Queue(NOTIFICATIONS_QUEUE, true);
     }
 
+    // Same declaration as notification-service, which also binds the shard queues to it
+    @Bean
+    public Declarables notificationsShardedExchange(@Value("${notifications.publish.sharded:false}") boolean sharded) {
+        return sharded
+                ? new Declarables(new CustomExchange(NOTIFICATIONS_SHARDED_EXCHANGE, "x-consistent-hash", true, false))
+                : new Declarables();
+    }
+
     @Bean
     public Jackson2JsonMessageConverter messageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -25,6 +39,12 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(org.springframework.amqp.rabbit.connection.ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(messageConverter());
+        // Unroutable messages come back to the publisher instead of being dropped silently;
+        // ConfirmingPublisher also sees them on the message's CorrelationData
+        template.setMandatory(true);
+        template.setReturnsCallback(returned -> log.warn("Message {} returned by broker: {} {} (exchange '{}', routing key '{}')",
+                returned.getMessage().getMessageProperties().getMessageId(), returned.getReplyCode(),
+                returned.getReplyText(), returned.getExchange(), returned.getRoutingKey()));
         return template;
     }
 }
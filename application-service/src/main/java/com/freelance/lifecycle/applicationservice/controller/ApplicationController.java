@@ -1,23 +1,37 @@
 package com.freelance.lifecycle.applicationservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.freelance.lifecycle.applicationservice.dto.ApplicationRequestDTO;
 import com.freelance.lifecycle.applicationservice.dto.ApplicationResponseDTO;
+import com.freelance.lifecycle.applicationservice.dto.BatchItemResultDTO;
+import com.freelance.lifecycle.applicationservice.dto.BulkStatusUpdateDTO;
+import com.freelance.lifecycle.applicationservice.dto.BulkStatusUpdateResultDTO;
+import com.freelance.lifecycle.applicationservice.dto.CursorPageDTO;
 import com.freelance.lifecycle.applicationservice.dto.StatusUpdateDTO;
 import com.freelance.lifecycle.applicationservice.service.ApplicationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Consumer;
 
 @RestController
 @RequestMapping("/api/v1/applications")
 @RequiredArgsConstructor
 public class ApplicationController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final ApplicationService applicationService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<ApplicationResponseDTO> createApplication(@Valid @RequestBody ApplicationRequestDTO dto) {
@@ -25,6 +39,14 @@ public class ApplicationController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    @PostMapping("/batch")
+    public ResponseEntity<List<BatchItemResultDTO>> createApplications(@RequestBody List<ApplicationRequestDTO> dtos) {
+        List<BatchItemResultDTO> results = applicationService.createApplications(dtos);
+        boolean allCreated = results.stream()
+                .allMatch(result -> result.getStatus() == BatchItemResultDTO.Status.CREATED);
+        return new ResponseEntity<>(results, allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS);
+    }
+
     @PatchMapping("/{id}/status")
     public ResponseEntity<ApplicationResponseDTO> updateStatus(
             @PathVariable Long id, 
@@ -33,15 +55,59 @@ public class ApplicationController {
         return ResponseEntity.ok(response);
     }
 
+    @PatchMapping("/project/{projectId}/status")
+    public ResponseEntity<BulkStatusUpdateResultDTO> updateStatusByProjectId(
+            @PathVariable Long projectId,
+            @Valid @RequestBody BulkStatusUpdateDTO dto) {
+        BulkStatusUpdateResultDTO response = applicationService.updateStatusByProjectId(projectId, dto);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<List<ApplicationResponseDTO>> getApplicationsByProjectId(@PathVariable Long projectId) {
-        List<ApplicationResponseDTO> applications = applicationService.getApplicationsByProjectId(projectId);
-        return ResponseEntity.ok(applications);
+    public ResponseEntity<List<ApplicationResponseDTO>> getApplicationsByProjectId(
+            @PathVariable Long projectId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return toPageResponse(applicationService.getApplicationsByProjectId(projectId, cursor, limit));
+    }
+
+    @GetMapping(value = "/project/{projectId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamApplicationsByProjectId(@PathVariable Long projectId) {
+        StreamingResponseBody body = out -> applicationService.streamApplicationsByProjectId(projectId, ndjsonWriter(out));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/user/{freelancerId}")
-    public ResponseEntity<List<ApplicationResponseDTO>> getApplicationsByFreelancerId(@PathVariable Long freelancerId) {
-        List<ApplicationResponseDTO> applications = applicationService.getApplicationsByFreelancerId(freelancerId);
-        return ResponseEntity.ok(applications);
+    public ResponseEntity<List<ApplicationResponseDTO>> getApplicationsByFreelancerId(
+            @PathVariable Long freelancerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return toPageResponse(applicationService.getApplicationsByFreelancerId(freelancerId, cursor, limit));
+    }
+
+    @GetMapping(value = "/user/{freelancerId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamApplicationsByFreelancerId(@PathVariable Long freelancerId) {
+        StreamingResponseBody body = out -> applicationService.streamApplicationsByFreelancerId(freelancerId, ndjsonWriter(out));
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // The body keeps the plain list shape; the position of the next page travels in a header
+    private ResponseEntity<List<ApplicationResponseDTO>> toPageResponse(CursorPageDTO<ApplicationResponseDTO> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+
+    private Consumer<ApplicationResponseDTO> ndjsonWriter(OutputStream out) {
+        return application -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(application));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
     }
 }
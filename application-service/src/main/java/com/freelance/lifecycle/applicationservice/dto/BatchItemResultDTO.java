@@ -0,0 +1,24 @@
+package com.freelance.lifecycle.applicationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchItemResultDTO {
+
+    public enum Status {
+        CREATED,
+        REJECTED
+    }
+
+    // Position of the item in the submitted batch
+    private int index;
+    private Status status;
+    private ApplicationResponseDTO application;
+    private Map<String, String> errors;
+}
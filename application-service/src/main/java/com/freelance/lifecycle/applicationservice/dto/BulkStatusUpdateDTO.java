@@ -0,0 +1,21 @@
+package com.freelance.lifecycle.applicationservice.dto;
+
+import com.freelance.lifecycle.applicationservice.model.ApplicationStatus;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateDTO {
+
+    @NotNull(message = "Status is required")
+    private ApplicationStatus status;
+
+    // Only applications currently in one of these statuses are updated; defaults to every valid predecessor
+    private Set<ApplicationStatus> fromStatuses;
+}
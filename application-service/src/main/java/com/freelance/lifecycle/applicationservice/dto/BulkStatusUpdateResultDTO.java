@@ -0,0 +1,19 @@
+package com.freelance.lifecycle.applicationservice.dto;
+
+import com.freelance.lifecycle.applicationservice.model.ApplicationStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResultDTO {
+
+    private Long projectId;
+    private ApplicationStatus status;
+    private int updatedCount;
+    private List<Long> applicationIds;
+}
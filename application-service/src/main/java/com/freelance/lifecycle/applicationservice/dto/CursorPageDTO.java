@@ -0,0 +1,18 @@
+package com.freelance.lifecycle.applicationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+
+    // Opaque cursor for the next page, null when there are no more rows
+    private String nextCursor;
+}
@@ -0,0 +1,11 @@
+package com.freelance.lifecycle.applicationservice.exception;
+
+public class InvalidBatchException extends RuntimeException {
+    public InvalidBatchException(String message) {
+        super(message);
+    }
+
+    public InvalidBatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
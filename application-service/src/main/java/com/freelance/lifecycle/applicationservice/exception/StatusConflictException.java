@@ -0,0 +1,11 @@
+package com.freelance.lifecycle.applicationservice.exception;
+
+public class StatusConflictException extends RuntimeException {
+    public StatusConflictException(String message) {
+        super(message);
+    }
+
+    public StatusConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
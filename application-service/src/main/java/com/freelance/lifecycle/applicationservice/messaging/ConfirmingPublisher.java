@@ -0,0 +1,118 @@
+package com.freelance.lifecycle.applicationservice.messaging;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes with correlated publisher confirms. Each message gets its own future that completes
+ * when the broker acks it and fails on a nack, an unroutable return or a confirm timeout.
+ * At most {@code max-in-flight} messages may be awaiting a confirm; callers block (up to the
+ * confirm timeout) for a free slot instead of piling up unconfirmed messages on the channel.
+ */
+@Component
+@Slf4j
+public class ConfirmingPublisher {
+
+    private final RabbitTemplate rabbitTemplate;
+    private final Semaphore inFlight;
+    private final long confirmTimeoutMs;
+
+    private final Timer confirmLatency;
+    private final Counter acks;
+    private final Counter nacks;
+    private final Counter returns;
+    private final Counter timeouts;
+    private final Counter sendErrors;
+
+    public ConfirmingPublisher(RabbitTemplate rabbitTemplate,
+                               MeterRegistry meterRegistry,
+                               @Value("${outbox.publisher.max-in-flight:100}") int maxInFlight,
+                               @Value("${outbox.publisher.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.confirmTimeoutMs = confirmTimeoutMs;
+
+        this.confirmLatency = Timer.builder("outbox.publish.confirm.latency")
+                .description("Time from send until the broker confirms the message")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.acks = outcome(meterRegistry, "ack");
+        this.nacks = outcome(meterRegistry, "nack");
+        this.returns = outcome(meterRegistry, "returned");
+        this.timeouts = outcome(meterRegistry, "timeout");
+        this.sendErrors = outcome(meterRegistry, "error");
+        meterRegistry.gauge("outbox.publish.in-flight", inFlight, s -> maxInFlight - s.availablePermits());
+    }
+
+    /**
+     * Sends the message and returns a future for its confirm. The future never completes
+     * normally unless the broker acknowledged the message and routed it to a queue.
+     */
+    public CompletableFuture<Void> publish(String exchange, String routingKey, Message message, String correlationId) {
+        try {
+            if (!inFlight.tryAcquire(confirmTimeoutMs, TimeUnit.MILLISECONDS)) {
+                timeouts.increment();
+                return CompletableFuture.failedFuture(new PublishFailedException("No free in-flight slot"));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(new PublishFailedException("Interrupted waiting for an in-flight slot"));
+        }
+
+        CorrelationData correlation = new CorrelationData(correlationId);
+        long start = System.nanoTime();
+        try {
+            rabbitTemplate.send(exchange, routingKey, message, correlation);
+        } catch (AmqpException e) {
+            inFlight.release();
+            sendErrors.increment();
+            return CompletableFuture.failedFuture(new PublishFailedException("Send failed: " + e.getMessage(), e));
+        }
+
+        return correlation.getFuture()
+                .orTimeout(confirmTimeoutMs, TimeUnit.MILLISECONDS)
+                .handle((confirm, error) -> {
+                    inFlight.release();
+                    if (error != null) {
+                        if (error instanceof TimeoutException) {
+                            timeouts.increment();
+                            throw new PublishFailedException("No confirm within " + confirmTimeoutMs + " ms");
+                        }
+                        sendErrors.increment();
+                        throw new PublishFailedException("Confirm failed: " + error.getMessage(), error);
+                    }
+                    confirmLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    if (!confirm.isAck()) {
+                        nacks.increment();
+                        throw new PublishFailedException("Nacked by broker: " + confirm.getReason());
+                    }
+                    // With mandatory set, the return for an unroutable message arrives before its ack
+                    if (correlation.getReturned() != null) {
+                        returns.increment();
+                        throw new PublishFailedException("Returned as unroutable: " + correlation.getReturned().getReplyText());
+                    }
+                    acks.increment();
+                    return null;
+                });
+    }
+
+    private static Counter outcome(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("outbox.publish.outcome")
+                .description("Publisher confirm outcomes; the nack rate is result=nack over the total")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
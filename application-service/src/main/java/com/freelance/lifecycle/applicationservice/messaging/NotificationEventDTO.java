@@ -4,11 +4,15 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.UUID;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class NotificationEventDTO {
+    private UUID eventId; // Lets the notification service drop redeliveries of the same event
     private Long userId;
     private String message;
     private String type; // Use String to avoid cross-module enum dependency
+    private String groupKey; // Events sharing it may be coalesced into one notification
 }
@@ -0,0 +1,136 @@
+package com.freelance.lifecycle.applicationservice.messaging;
+
+import com.freelance.lifecycle.applicationservice.model.OutboxEvent;
+import com.freelance.lifecycle.applicationservice.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageDeliveryMode;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Drains {@code outbox_events} in batches. Every event in a batch is handed to
+ * {@link ConfirmingPublisher} and tracked individually: rows the broker acknowledged are
+ * deleted, the rest stay with their attempt count and last error and are retried after an
+ * exponential backoff. The outbox table is therefore always the exact set of events that
+ * have not been acknowledged yet.
+ *
+ * <p>No transaction is open while waiting for confirms. A short transaction claims the batch by
+ * leasing it ({@code next_attempt_at} moves {@code lease-ms} ahead) and a second one records the
+ * results. If the relay dies in between, the lease runs out and the events are published again,
+ * so {@code lease-ms} must stay well above the time a batch can take to be confirmed.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ConfirmingPublisher publisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long leaseMs;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       ConfirmingPublisher publisher,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${outbox.relay.batch-size:200}") int batchSize,
+                       @Value("${outbox.relay.lease-ms:60000}") long leaseMs,
+                       @Value("${outbox.relay.initial-backoff-ms:1000}") long initialBackoffMs,
+                       @Value("${outbox.relay.max-backoff-ms:300000}") long maxBackoffMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.publisher = publisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.leaseMs = leaseMs;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    @Scheduled(fixedDelayString = "${outbox.relay.interval-ms:500}")
+    public void relay() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> batch = new ArrayList<>(transactionTemplate.execute(status ->
+                outboxEventRepository.claimNextBatch(now, now.plus(leaseMs, ChronoUnit.MILLIS), batchSize)));
+        if (batch.isEmpty()) {
+            return;
+        }
+        batch.sort(Comparator.comparing(OutboxEvent::getId));
+
+        // Send the whole batch first so confirms are awaited concurrently, not one by one
+        List<CompletableFuture<Void>> confirms = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            CompletableFuture<Void> confirm = publisher.publish(event.getExchange(), event.getRoutingKey(),
+                    toMessage(event), String.valueOf(event.getId()));
+            confirms.add(confirm);
+            // A send that fails right away (e.g. broker unreachable) would fail for the rest of the batch too
+            if (confirm.isCompletedExceptionally()) {
+                break;
+            }
+        }
+
+        List<Long> acknowledged = new ArrayList<>(batch.size());
+        Map<OutboxEvent, Throwable> failures = new LinkedHashMap<>();
+        Throwable lastFailure = null;
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent event = batch.get(i);
+            if (i >= confirms.size()) {
+                failures.put(event, lastFailure);
+                continue;
+            }
+            try {
+                confirms.get(i).join();
+                acknowledged.add(event.getId());
+            } catch (CompletionException e) {
+                lastFailure = e.getCause();
+                failures.put(event, lastFailure);
+            }
+        }
+
+        LocalDateTime settledAt = LocalDateTime.now();
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!acknowledged.isEmpty()) {
+                outboxEventRepository.deleteAllByIdInBatch(acknowledged);
+            }
+            failures.forEach((event, cause) -> scheduleRetry(event, cause, settledAt));
+        });
+        if (!failures.isEmpty()) {
+            log.warn("Relayed {} outbox events, {} not acknowledged and scheduled for retry",
+                    acknowledged.size(), failures.size());
+        } else {
+            log.debug("Relayed {} outbox events", acknowledged.size());
+        }
+    }
+
+    private void scheduleRetry(OutboxEvent event, Throwable cause, LocalDateTime now) {
+        int attempts = event.getAttempts() + 1;
+        long backoffMs = Math.min(maxBackoffMs, initialBackoffMs << Math.min(attempts - 1, 30));
+        outboxEventRepository.scheduleRetry(event.getId(), attempts, cause.getMessage(),
+                now.plus(backoffMs, ChronoUnit.MILLIS));
+    }
+
+    private Message toMessage(OutboxEvent event) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setContentEncoding(StandardCharsets.UTF_8.name());
+        properties.setDeliveryMode(MessageDeliveryMode.PERSISTENT);
+        properties.setMessageId(String.valueOf(event.getId()));
+        return new Message(event.getPayload().getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
@@ -0,0 +1,12 @@
+package com.freelance.lifecycle.applicationservice.messaging;
+
+// The broker did not acknowledge a message: nacked, returned as unroutable, not confirmed in time, or never sent
+public class PublishFailedException extends RuntimeException {
+    public PublishFailedException(String message) {
+        super(message);
+    }
+
+    public PublishFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
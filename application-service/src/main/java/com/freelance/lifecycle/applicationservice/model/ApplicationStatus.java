@@ -1,8 +1,41 @@
 package com.freelance.lifecycle.applicationservice.model;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum ApplicationStatus {
     PENDING,
     VIEWED,
     ACCEPTED,
-    REJECTED
+    REJECTED;
+
+    // Valid status transitions: current status -> statuses it may move to
+    private static final Map<ApplicationStatus, Set<ApplicationStatus>> TRANSITIONS = new EnumMap<>(ApplicationStatus.class);
+    private static final Map<ApplicationStatus, Set<ApplicationStatus>> PREDECESSORS = new EnumMap<>(ApplicationStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(VIEWED, ACCEPTED, REJECTED));
+        TRANSITIONS.put(VIEWED, EnumSet.of(ACCEPTED, REJECTED));
+        TRANSITIONS.put(ACCEPTED, EnumSet.noneOf(ApplicationStatus.class));
+        TRANSITIONS.put(REJECTED, EnumSet.noneOf(ApplicationStatus.class));
+
+        for (ApplicationStatus status : values()) {
+            PREDECESSORS.put(status, EnumSet.noneOf(ApplicationStatus.class));
+        }
+        TRANSITIONS.forEach((from, targets) -> targets.forEach(to -> PREDECESSORS.get(to).add(from)));
+    }
+
+    public boolean canTransitionTo(ApplicationStatus next) {
+        return TRANSITIONS.get(this).contains(next);
+    }
+
+    /**
+     * Statuses an application must currently be in to move to this one.
+     */
+    public Set<ApplicationStatus> allowedPredecessors() {
+        return Collections.unmodifiableSet(PREDECESSORS.get(this));
+    }
 }
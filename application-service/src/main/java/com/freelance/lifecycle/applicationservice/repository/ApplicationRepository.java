@@ -1,17 +1,100 @@
 package com.freelance.lifecycle.applicationservice.repository;
 
+import com.freelance.lifecycle.applicationservice.dto.ApplicationResponseDTO;
 import com.freelance.lifecycle.applicationservice.model.Application;
+import com.freelance.lifecycle.applicationservice.model.ApplicationStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ApplicationRepository extends JpaRepository<Application, Long> {
 
+    // Read-only queries select straight into ApplicationResponseDTO, skipping entity hydration,
+    // persistence context registration and dirty-checking snapshots.
+    String SELECT_RESPONSE_DTO = "SELECT new com.freelance.lifecycle.applicationservice.dto.ApplicationResponseDTO("
+            + "a.id, a.projectId, a.freelancerId, a.employerId, a.message, a.status, a.createdAt, a.updatedAt)"
+            + " FROM Application a";
+
     List<Application> findByProjectId(Long projectId);
 
     List<Application> findByFreelancerId(Long freelancerId);
 
     List<Application> findByEmployerId(Long employerId);
+
+    @Query(SELECT_RESPONSE_DTO + " WHERE a.projectId = :projectId")
+    List<ApplicationResponseDTO> findResponsesByProjectId(@Param("projectId") Long projectId);
+
+    @Query(SELECT_RESPONSE_DTO + " WHERE a.freelancerId = :freelancerId")
+    List<ApplicationResponseDTO> findResponsesByFreelancerId(@Param("freelancerId") Long freelancerId);
+
+    @Query("SELECT a.status FROM Application a WHERE a.id = :id")
+    Optional<ApplicationStatus> findStatusById(@Param("id") Long id);
+
+    // Compare-and-set transitions: the row only changes if it is still in one of the allowed
+    // statuses, and RETURNING hands back the updated row in the same round trip.
+    //
+    // Not @Modifying: Spring Data only runs those through executeUpdate, which cannot read the
+    // RETURNING rows. Hibernate maps them like a SELECT instead, so a copy of the row already managed
+    // by the persistence context would come back with its old status. Callers flush and clear it
+    // first, which is what flushAutomatically and clearAutomatically would have done.
+
+    @Query(value = "UPDATE applications SET status = :newStatus, updated_at = :updatedAt"
+            + " WHERE id = :id AND status IN (:allowed) RETURNING *", nativeQuery = true)
+    Optional<Application> transitionStatus(@Param("id") Long id,
+                                           @Param("newStatus") String newStatus,
+                                           @Param("allowed") Collection<String> allowed,
+                                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query(value = "UPDATE applications SET status = :newStatus, updated_at = :updatedAt"
+            + " WHERE project_id = :projectId AND status IN (:allowed) RETURNING *", nativeQuery = true)
+    List<Application> transitionStatusByProjectId(@Param("projectId") Long projectId,
+                                                  @Param("newStatus") String newStatus,
+                                                  @Param("allowed") Collection<String> allowed,
+                                                  @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Keyset pagination, newest first. The cursor variants continue strictly after (createdAt, id).
+
+    @Query(SELECT_RESPONSE_DTO + " WHERE a.projectId = :projectId ORDER BY a.createdAt DESC, a.id DESC")
+    List<ApplicationResponseDTO> findPageByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+    @Query(SELECT_RESPONSE_DTO + " WHERE a.projectId = :projectId"
+            + " AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id))"
+            + " ORDER BY a.createdAt DESC, a.id DESC")
+    List<ApplicationResponseDTO> findPageByProjectIdAfter(@Param("projectId") Long projectId,
+                                                          @Param("createdAt") LocalDateTime createdAt,
+                                                          @Param("id") Long id,
+                                                          Pageable pageable);
+
+    @Query(SELECT_RESPONSE_DTO + " WHERE a.freelancerId = :freelancerId ORDER BY a.createdAt DESC, a.id DESC")
+    List<ApplicationResponseDTO> findPageByFreelancerId(@Param("freelancerId") Long freelancerId, Pageable pageable);
+
+    @Query(SELECT_RESPONSE_DTO + " WHERE a.freelancerId = :freelancerId"
+            + " AND (a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id))"
+            + " ORDER BY a.createdAt DESC, a.id DESC")
+    List<ApplicationResponseDTO> findPageByFreelancerIdAfter(@Param("freelancerId") Long freelancerId,
+                                                             @Param("createdAt") LocalDateTime createdAt,
+                                                             @Param("id") Long id,
+                                                             Pageable pageable);
+
+    // Server-side cursors: rows are fetched from the JDBC driver in chunks of fetchSize
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_RESPONSE_DTO + " WHERE a.projectId = :projectId ORDER BY a.createdAt DESC, a.id DESC")
+    Stream<ApplicationResponseDTO> streamByProjectId(@Param("projectId") Long projectId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_RESPONSE_DTO + " WHERE a.freelancerId = :freelancerId ORDER BY a.createdAt DESC, a.id DESC")
+    Stream<ApplicationResponseDTO> streamByFreelancerId(@Param("freelancerId") Long freelancerId);
 }
@@ -0,0 +1,35 @@
+package com.freelance.lifecycle.applicationservice.repository;
+
+import com.freelance.lifecycle.applicationservice.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Claims a batch by moving next_attempt_at to the end of a lease, so the rows stay invisible to
+    // other relays after the claiming transaction commits. SKIP LOCKED lets several relay instances
+    // claim concurrently without blocking each other. RETURNING gives no order guarantee.
+    //
+    // Not @Modifying, for the same reason as the RETURNING updates in ApplicationRepository.
+    @Query(value = "UPDATE outbox_events SET next_attempt_at = :leaseUntil WHERE id IN ("
+            + "SELECT id FROM outbox_events WHERE next_attempt_at <= :now"
+            + " ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED) RETURNING *", nativeQuery = true)
+    List<OutboxEvent> claimNextBatch(@Param("now") LocalDateTime now,
+                                     @Param("leaseUntil") LocalDateTime leaseUntil,
+                                     @Param("limit") int limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.attempts = :attempts, e.lastError = :lastError,"
+            + " e.nextAttemptAt = :nextAttemptAt WHERE e.id = :id")
+    int scheduleRetry(@Param("id") Long id,
+                      @Param("attempts") int attempts,
+                      @Param("lastError") String lastError,
+                      @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+}
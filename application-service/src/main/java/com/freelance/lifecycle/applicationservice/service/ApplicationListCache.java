@@ -0,0 +1,54 @@
+package com.freelance.lifecycle.applicationservice.service;
+
+import com.freelance.lifecycle.applicationservice.config.CacheConfig;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Invalidates cached project and freelancer listings. Evictions are deferred until the
+ * surrounding transaction commits so a concurrent read cannot cache the pre-commit state.
+ */
+@Component
+@RequiredArgsConstructor
+public class ApplicationListCache {
+
+    private final CacheManager cacheManager;
+
+    public void evict(Long projectId, Long freelancerId) {
+        evict(Set.of(projectId), Set.of(freelancerId));
+    }
+
+    public void evict(Collection<Long> projectIds, Collection<Long> freelancerIds) {
+        List<Long> projects = List.copyOf(projectIds);
+        List<Long> freelancers = List.copyOf(freelancerIds);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evictNow(projects, freelancers);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evictNow(projects, freelancers);
+            }
+        });
+    }
+
+    private void evictNow(Collection<Long> projectIds, Collection<Long> freelancerIds) {
+        Cache byProject = cacheManager.getCache(CacheConfig.APPLICATIONS_BY_PROJECT);
+        if (byProject != null) {
+            projectIds.forEach(byProject::evict);
+        }
+        Cache byFreelancer = cacheManager.getCache(CacheConfig.APPLICATIONS_BY_FREELANCER);
+        if (byFreelancer != null) {
+            freelancerIds.forEach(byFreelancer::evict);
+        }
+    }
+}
@@ -2,17 +2,42 @@ package com.freelance.lifecycle.applicationservice.service;
 
 import com.freelance.lifecycle.applicationservice.dto.ApplicationRequestDTO;
 import com.freelance.lifecycle.applicationservice.dto.ApplicationResponseDTO;
+import com.freelance.lifecycle.applicationservice.dto.BatchItemResultDTO;
+import com.freelance.lifecycle.applicationservice.dto.BulkStatusUpdateDTO;
+import com.freelance.lifecycle.applicationservice.dto.BulkStatusUpdateResultDTO;
+import com.freelance.lifecycle.applicationservice.dto.CursorPageDTO;
 import com.freelance.lifecycle.applicationservice.dto.StatusUpdateDTO;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ApplicationService {
 
     ApplicationResponseDTO createApplication(ApplicationRequestDTO dto);
 
+    List<BatchItemResultDTO> createApplications(List<ApplicationRequestDTO> dtos);
+
     ApplicationResponseDTO updateStatus(Long id, StatusUpdateDTO dto);
 
-    List<ApplicationResponseDTO> getApplicationsByProjectId(Long projectId);
+    /**
+     * Moves every application of the project that is in an allowed predecessor status to the
+     * requested status with a single statement.
+     */
+    BulkStatusUpdateResultDTO updateStatusByProjectId(Long projectId, BulkStatusUpdateDTO dto);
+
+    /**
+     * A keyset page of the project's applications, newest first. Without {@code limit} the page has
+     * the default size; without {@code cursor} it is the first one.
+     */
+    CursorPageDTO<ApplicationResponseDTO> getApplicationsByProjectId(Long projectId, String cursor, Integer limit);
+
+    CursorPageDTO<ApplicationResponseDTO> getApplicationsByFreelancerId(Long freelancerId, String cursor, Integer limit);
+
+    /**
+     * Feeds every application of the project to {@code consumer} straight from the database cursor,
+     * without materializing the result list.
+     */
+    void streamApplicationsByProjectId(Long projectId, Consumer<ApplicationResponseDTO> consumer);
 
-    List<ApplicationResponseDTO> getApplicationsByFreelancerId(Long freelancerId);
+    void streamApplicationsByFreelancerId(Long freelancerId, Consumer<ApplicationResponseDTO> consumer);
 }
@@ -1,19 +1,49 @@
 package com.freelance.lifecycle.applicationservice.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.freelance.lifecycle.applicationservice.config.CacheConfig;
+import com.freelance.lifecycle.applicationservice.config.RabbitMQConfig;
+import com.freelance.lifecycle.applicationservice.dto.ApplicationCursor;
 import com.freelance.lifecycle.applicationservice.dto.ApplicationRequestDTO;
 import com.freelance.lifecycle.applicationservice.dto.ApplicationResponseDTO;
+import com.freelance.lifecycle.applicationservice.dto.BatchItemResultDTO;
+import com.freelance.lifecycle.applicationservice.dto.BulkStatusUpdateDTO;
+import com.freelance.lifecycle.applicationservice.dto.BulkStatusUpdateResultDTO;
+import com.freelance.lifecycle.applicationservice.dto.CursorPageDTO;
 import com.freelance.lifecycle.applicationservice.dto.StatusUpdateDTO;
 import com.freelance.lifecycle.applicationservice.exception.ApplicationNotFoundException;
+import com.freelance.lifecycle.applicationservice.exception.InvalidBatchException;
 import com.freelance.lifecycle.applicationservice.exception.InvalidStatusException;
+import com.freelance.lifecycle.applicationservice.exception.StatusConflictException;
 import com.freelance.lifecycle.applicationservice.model.Application;
 import com.freelance.lifecycle.applicationservice.model.ApplicationStatus;
+import com.freelance.lifecycle.applicationservice.model.OutboxEvent;
 import com.freelance.lifecycle.applicationservice.repository.ApplicationRepository;
+import com.freelance.lifecycle.applicationservice.repository.OutboxEventRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import com.freelance.lifecycle.applicationservice.messaging.NotificationEventDTO;
 import java.util.stream.Collectors;
 
@@ -22,95 +52,315 @@ import java.util.stream.Collectors;
 @Transactional
 public class ApplicationServiceImpl implements ApplicationService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final ApplicationRepository applicationRepository;
-    private final RabbitTemplate rabbitTemplate;
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final ApplicationListCache applicationListCache;
+
+    @Value("${applications.batch.max-size:5000}")
+    private int maxBatchSize;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:50}")
+    private int jdbcBatchSize;
+
+    @Value("${notifications.publish.sharded:false}")
+    private boolean shardedNotifications;
 
     @Override
     public ApplicationResponseDTO createApplication(ApplicationRequestDTO dto) {
-    Application application = new Application();
-    application.setProjectId(dto.getProjectId());
-    application.setFreelancerId(dto.getFreelancerId());
-    application.setMessage(dto.getMessage());
-    application.setStatus(ApplicationStatus.PENDING);
-    application.setEmployerId(1L); 
-    
-    Application savedApplication = applicationRepository.save(application);
-
-    // Publish notification event (async)
-    try {
-        // --- CÓDIGO A CAMBIAR ---
-        String descriptiveMessage = "New application '" + dto.getName() 
-                                    + "' was submitted for project " + savedApplication.getProjectId();
-        
-        NotificationEventDTO event = new NotificationEventDTO(savedApplication.getEmployerId(),
-                descriptiveMessage, // <-- USA EL NUEVO MENSAJE
-                "NEW_APPLICATION");
-        
-        rabbitTemplate.convertAndSend("", "notifications.queue", event);
-    } catch (Exception e) {
-        System.err.println("Failed to publish notification event: " + e.getMessage());
-    }
-
-    return mapToResponseDTO(savedApplication);
-}
+        Application savedApplication = applicationRepository.save(newApplication(dto));
+
+        // The event is stored in the same transaction and published by OutboxRelay
+        outboxEventRepository.save(toOutboxEvent(newApplicationEvent(dto, savedApplication)));
+        applicationListCache.evict(savedApplication.getProjectId(), savedApplication.getFreelancerId());
+
+        return mapToResponseDTO(savedApplication);
+    }
 
     @Override
-    public ApplicationResponseDTO updateStatus(Long id, StatusUpdateDTO dto) {
-        Application application = applicationRepository.findById(id)
-                .orElseThrow(() -> new ApplicationNotFoundException("Application not found with id: " + id));
+    public List<BatchItemResultDTO> createApplications(List<ApplicationRequestDTO> dtos) {
+        if (dtos == null || dtos.isEmpty()) {
+            throw new InvalidBatchException("Batch must contain at least one application");
+        }
+        if (dtos.size() > maxBatchSize) {
+            throw new InvalidBatchException("Batch cannot exceed " + maxBatchSize + " applications");
+        }
+
+        BatchItemResultDTO[] results = new BatchItemResultDTO[dtos.size()];
+        List<Integer> chunk = new ArrayList<>(jdbcBatchSize);
+        for (int i = 0; i < dtos.size(); i++) {
+            Map<String, String> errors = validate(dtos.get(i));
+            if (!errors.isEmpty()) {
+                results[i] = new BatchItemResultDTO(i, BatchItemResultDTO.Status.REJECTED, null, errors);
+                continue;
+            }
+            chunk.add(i);
+            if (chunk.size() == jdbcBatchSize) {
+                insertChunk(dtos, chunk, results);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            insertChunk(dtos, chunk, results);
+        }
+        return Arrays.asList(results);
+    }
+
+    // Persists one JDBC batch worth of applications and their outbox events, then clears the
+    // persistence context so memory does not grow with the size of the submission.
+    private void insertChunk(List<ApplicationRequestDTO> dtos, List<Integer> indexes, BatchItemResultDTO[] results) {
+        List<Application> applications = new ArrayList<>(indexes.size());
+        for (Integer index : indexes) {
+            applications.add(newApplication(dtos.get(index)));
+        }
+        applicationRepository.saveAll(applications);
+
+        List<OutboxEvent> events = new ArrayList<>(indexes.size());
+        for (int i = 0; i < indexes.size(); i++) {
+            events.add(toOutboxEvent(newApplicationEvent(dtos.get(indexes.get(i)), applications.get(i))));
+        }
+        outboxEventRepository.saveAll(events);
+        applicationListCache.evict(
+                applications.stream().map(Application::getProjectId).collect(Collectors.toSet()),
+                applications.stream().map(Application::getFreelancerId).collect(Collectors.toSet()));
+
+        entityManager.flush();
+        for (int i = 0; i < indexes.size(); i++) {
+            results[indexes.get(i)] = new BatchItemResultDTO(indexes.get(i), BatchItemResultDTO.Status.CREATED,
+                    mapToResponseDTO(applications.get(i)), null);
+        }
+        entityManager.clear();
+    }
+
+    private Map<String, String> validate(ApplicationRequestDTO dto) {
+        Map<String, String> errors = new HashMap<>();
+        if (dto == null) {
+            errors.put("application", "Application is required");
+            return errors;
+        }
+        for (ConstraintViolation<ApplicationRequestDTO> violation : validator.validate(dto)) {
+            errors.put(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
 
+    @Override
+    public ApplicationResponseDTO updateStatus(Long id, StatusUpdateDTO dto) {
         ApplicationStatus newStatus = dto.getStatus();
-        
-        // Validate status transition
-        validateStatusTransition(application.getStatus(), newStatus);
-        
-        application.setStatus(newStatus);
-        Application updatedApplication = applicationRepository.save(application);
-        
+        Set<ApplicationStatus> predecessors = newStatus.allowedPredecessors();
+        if (predecessors.isEmpty()) {
+            throw new InvalidStatusException("Cannot change status to " + newStatus);
+        }
+
+        clearPersistenceContext();
+        Application updatedApplication = applicationRepository
+                .transitionStatus(id, newStatus.name(), statusNames(predecessors), LocalDateTime.now())
+                .orElseThrow(() -> transitionFailure(id, newStatus));
+
+        NotificationEventDTO event = newStatusEvent(updatedApplication);
+        if (event != null) {
+            outboxEventRepository.save(toOutboxEvent(event));
+        }
+        applicationListCache.evict(updatedApplication.getProjectId(), updatedApplication.getFreelancerId());
+
         return mapToResponseDTO(updatedApplication);
     }
 
+    @Override
+    public BulkStatusUpdateResultDTO updateStatusByProjectId(Long projectId, BulkStatusUpdateDTO dto) {
+        ApplicationStatus newStatus = dto.getStatus();
+        Set<ApplicationStatus> allowed = EnumSet.noneOf(ApplicationStatus.class);
+        allowed.addAll(newStatus.allowedPredecessors());
+        if (dto.getFromStatuses() != null && !dto.getFromStatuses().isEmpty()) {
+            allowed.retainAll(dto.getFromStatuses());
+        }
+        if (allowed.isEmpty()) {
+            throw new InvalidStatusException("No valid status transition to " + newStatus + " from " + dto.getFromStatuses());
+        }
+
+        clearPersistenceContext();
+        List<Application> updatedApplications = applicationRepository.transitionStatusByProjectId(
+                projectId, newStatus.name(), statusNames(allowed), LocalDateTime.now());
+
+        List<OutboxEvent> events = new ArrayList<>(updatedApplications.size());
+        List<Long> ids = new ArrayList<>(updatedApplications.size());
+        Set<Long> freelancerIds = new HashSet<>();
+        for (Application application : updatedApplications) {
+            ids.add(application.getId());
+            freelancerIds.add(application.getFreelancerId());
+            NotificationEventDTO event = newStatusEvent(application);
+            if (event != null) {
+                events.add(toOutboxEvent(event));
+            }
+        }
+        outboxEventRepository.saveAll(events);
+        if (!ids.isEmpty()) {
+            applicationListCache.evict(Set.of(projectId), freelancerIds);
+        }
+
+        return new BulkStatusUpdateResultDTO(projectId, newStatus, ids.size(), ids);
+    }
+
+    // The transitions read their rows back from RETURNING, see ApplicationRepository
+    private void clearPersistenceContext() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    // Called when the conditional update matched no row: either the application does not
+    // exist or its current status does not allow the transition (possibly changed concurrently).
+    private RuntimeException transitionFailure(Long id, ApplicationStatus newStatus) {
+        ApplicationStatus currentStatus = applicationRepository.findStatusById(id)
+                .orElseThrow(() -> new ApplicationNotFoundException("Application not found with id: " + id));
+        try {
+            validateStatusTransition(currentStatus, newStatus);
+        } catch (StatusConflictException e) {
+            return e;
+        }
+        return new StatusConflictException("Application " + id + " was modified concurrently, current status is " + currentStatus);
+    }
+
+    // Only the first page of the default size is cached: it is what a plain GET of the listing returns
     @Override
     @Transactional(readOnly = true)
-    public List<ApplicationResponseDTO> getApplicationsByProjectId(Long projectId) {
-        List<Application> applications = applicationRepository.findByProjectId(projectId);
-        return applications.stream()
-                .map(this::mapToResponseDTO)
-                .collect(Collectors.toList());
+    @Cacheable(cacheNames = CacheConfig.APPLICATIONS_BY_PROJECT, key = "#projectId",
+            condition = "#cursor == null && #limit == null")
+    public CursorPageDTO<ApplicationResponseDTO> getApplicationsByProjectId(Long projectId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        // One extra row tells us whether another page exists
+        Pageable pageable = PageRequest.ofSize(pageSize + 1);
+        List<ApplicationResponseDTO> applications;
+        if (cursor == null) {
+            applications = applicationRepository.findPageByProjectId(projectId, pageable);
+        } else {
+            ApplicationCursor position = ApplicationCursor.decode(cursor);
+            applications = applicationRepository.findPageByProjectIdAfter(
+                    projectId, position.getCreatedAt(), position.getId(), pageable);
+        }
+        return toPage(applications, pageSize);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ApplicationResponseDTO> getApplicationsByFreelancerId(Long freelancerId) {
-        List<Application> applications = applicationRepository.findByFreelancerId(freelancerId);
-        return applications.stream()
-                .map(this::mapToResponseDTO)
-                .collect(Collectors.toList());
-    }
-
-    private void validateStatusTransition(ApplicationStatus currentStatus, ApplicationStatus newStatus) {
-        // Define valid status transitions
-        switch (currentStatus) {
-            case PENDING:
-                if (newStatus != ApplicationStatus.VIEWED && 
-                    newStatus != ApplicationStatus.ACCEPTED && 
-                    newStatus != ApplicationStatus.REJECTED) {
-                    throw new InvalidStatusException("Invalid status transition from PENDING to " + newStatus);
-                }
-                break;
-            case VIEWED:
-                if (newStatus != ApplicationStatus.ACCEPTED && 
-                    newStatus != ApplicationStatus.REJECTED) {
-                    throw new InvalidStatusException("Invalid status transition from VIEWED to " + newStatus);
-                }
-                break;
+    @Cacheable(cacheNames = CacheConfig.APPLICATIONS_BY_FREELANCER, key = "#freelancerId",
+            condition = "#cursor == null && #limit == null")
+    public CursorPageDTO<ApplicationResponseDTO> getApplicationsByFreelancerId(Long freelancerId, String cursor, Integer limit) {
+        int pageSize = resolvePageSize(limit);
+        Pageable pageable = PageRequest.ofSize(pageSize + 1);
+        List<ApplicationResponseDTO> applications;
+        if (cursor == null) {
+            applications = applicationRepository.findPageByFreelancerId(freelancerId, pageable);
+        } else {
+            ApplicationCursor position = ApplicationCursor.decode(cursor);
+            applications = applicationRepository.findPageByFreelancerIdAfter(
+                    freelancerId, position.getCreatedAt(), position.getId(), pageable);
+        }
+        return toPage(applications, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamApplicationsByProjectId(Long projectId, Consumer<ApplicationResponseDTO> consumer) {
+        try (Stream<ApplicationResponseDTO> applications = applicationRepository.streamByProjectId(projectId)) {
+            applications.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamApplicationsByFreelancerId(Long freelancerId, Consumer<ApplicationResponseDTO> consumer) {
+        try (Stream<ApplicationResponseDTO> applications = applicationRepository.streamByFreelancerId(freelancerId)) {
+            applications.forEach(consumer);
+        }
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private CursorPageDTO<ApplicationResponseDTO> toPage(List<ApplicationResponseDTO> applications, int pageSize) {
+        boolean hasMore = applications.size() > pageSize;
+        List<ApplicationResponseDTO> page = hasMore ? applications.subList(0, pageSize) : applications;
+
+        String nextCursor = null;
+        if (hasMore) {
+            ApplicationResponseDTO last = page.get(page.size() - 1);
+            nextCursor = new ApplicationCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new CursorPageDTO<>(page, nextCursor);
+    }
+
+    void validateStatusTransition(ApplicationStatus currentStatus, ApplicationStatus newStatus) {
+        if (!currentStatus.canTransitionTo(newStatus)) {
+            throw new StatusConflictException("Cannot change status from " + currentStatus + " to " + newStatus);
+        }
+    }
+
+    private List<String> statusNames(Set<ApplicationStatus> statuses) {
+        return statuses.stream().map(Enum::name).collect(Collectors.toList());
+    }
+
+    private Application newApplication(ApplicationRequestDTO dto) {
+        Application application = new Application();
+        application.setProjectId(dto.getProjectId());
+        application.setFreelancerId(dto.getFreelancerId());
+        application.setMessage(dto.getMessage());
+        application.setStatus(ApplicationStatus.PENDING);
+        application.setEmployerId(1L);
+        return application;
+    }
+
+    private NotificationEventDTO newApplicationEvent(ApplicationRequestDTO dto, Application application) {
+        String descriptiveMessage = "New application '" + dto.getName()
+                + "' was submitted for project " + application.getProjectId();
+        // A burst of applications to one project becomes a single digest for the employer
+        return new NotificationEventDTO(UUID.randomUUID(), application.getEmployerId(), descriptiveMessage, "NEW_APPLICATION",
+                "project-" + application.getProjectId());
+    }
+
+    // Freelancers are only notified about final decisions
+    private NotificationEventDTO newStatusEvent(Application application) {
+        switch (application.getStatus()) {
             case ACCEPTED:
+                return new NotificationEventDTO(UUID.randomUUID(), application.getFreelancerId(),
+                        "Your application for project " + application.getProjectId() + " was accepted",
+                        "APPLICATION_ACCEPTED", null);
             case REJECTED:
-                throw new InvalidStatusException("Cannot change status from " + currentStatus + " to " + newStatus);
+                return new NotificationEventDTO(UUID.randomUUID(), application.getFreelancerId(),
+                        "Your application for project " + application.getProjectId() + " was rejected",
+                        "APPLICATION_REJECTED", null);
+            default:
+                return null;
+        }
+    }
+
+    private OutboxEvent toOutboxEvent(NotificationEventDTO event) {
+        try {
+            OutboxEvent outboxEvent = new OutboxEvent();
+            if (shardedNotifications) {
+                // The consistent-hash exchange hashes the routing key, so all of a user's events share a shard
+                outboxEvent.setExchange(RabbitMQConfig.NOTIFICATIONS_SHARDED_EXCHANGE);
+                outboxEvent.setRoutingKey(String.valueOf(event.getUserId()));
+            } else {
+                outboxEvent.setExchange("");
+                outboxEvent.setRoutingKey(RabbitMQConfig.NOTIFICATIONS_QUEUE);
+            }
+            outboxEvent.setPayload(objectMapper.writeValueAsString(event));
+            return outboxEvent;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize notification event", e);
         }
     }
 
-    private ApplicationResponseDTO mapToResponseDTO(Application application) {
+    ApplicationResponseDTO mapToResponseDTO(Application application) {
         ApplicationResponseDTO dto = new ApplicationResponseDTO();
         dto.setId(application.getId());
         dto.setProjectId(application.getProjectId());
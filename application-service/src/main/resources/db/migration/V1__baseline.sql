@@ -0,0 +1,37 @@
+-- Schema previously generated by hibernate ddl-auto. Every statement is idempotent so the
+-- script also runs cleanly against databases that ddl-auto already created.
+
+CREATE SEQUENCE IF NOT EXISTS applications_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS applications (
+    id            BIGINT       NOT NULL PRIMARY KEY,
+    project_id    BIGINT       NOT NULL,
+    freelancer_id BIGINT       NOT NULL,
+    employer_id   BIGINT       NOT NULL,
+    message       TEXT,
+    status        VARCHAR(255) NOT NULL,
+    created_at    TIMESTAMP(6) NOT NULL,
+    updated_at    TIMESTAMP(6)
+);
+
+-- Older ddl-auto schemas used an identity column; ids now come from applications_seq
+ALTER TABLE applications ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+ALTER TABLE applications DROP CONSTRAINT IF EXISTS applications_status_check;
+ALTER TABLE applications ADD CONSTRAINT applications_status_check
+    CHECK (status IN ('PENDING', 'VIEWED', 'ACCEPTED', 'REJECTED'));
+
+-- Move the pooled sequence past ids handed out by the identity column
+SELECT setval('applications_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM applications), 1));
+
+CREATE SEQUENCE IF NOT EXISTS outbox_events_seq INCREMENT BY 50;
+
+CREATE TABLE IF NOT EXISTS outbox_events (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    exchange    VARCHAR(255) NOT NULL,
+    routing_key VARCHAR(255) NOT NULL,
+    payload     TEXT         NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL
+);
+
+SELECT setval('outbox_events_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM outbox_events), 1));
@@ -0,0 +1,14 @@
+-- Indexes backing ApplicationRepository. CONCURRENTLY avoids blocking writes on large
+-- tables; Flyway runs this script outside a transaction for that reason.
+
+-- findByProjectId, keyset pages and streams (ORDER BY created_at DESC, id DESC), bulk status updates
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_applications_project_created
+    ON applications (project_id, created_at DESC, id DESC);
+
+-- findByFreelancerId, keyset pages and streams
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_applications_freelancer_created
+    ON applications (freelancer_id, created_at DESC, id DESC);
+
+-- findByEmployerId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_applications_employer
+    ON applications (employer_id);
@@ -0,0 +1,5 @@
+-- Per-event delivery bookkeeping for OutboxRelay: rows that the broker has not acknowledged
+-- stay in the table with their attempt count, last failure and the time of the next retry.
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS attempts INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS last_error TEXT;
+ALTER TABLE outbox_events ADD COLUMN IF NOT EXISTS next_attempt_at TIMESTAMP(6) NOT NULL DEFAULT now();
@@ -0,0 +1,31 @@
+package com.freelance.lifecycle.applicationservice.config;
+
+import com.freelance.lifecycle.applicationservice.dto.CursorPageDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+
+import java.time.Duration;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheConfigTests {
+
+    @Test
+    void listingsAreBoundedByTheirRows() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CacheConfig.APPLICATIONS_BY_PROJECT);
+        cacheManager.setCaffeine(new CacheConfig().caffeineConfig(1000, Duration.ofMinutes(1)));
+        Cache<Object, Object> cache = ((CaffeineCache) cacheManager.getCache(CacheConfig.APPLICATIONS_BY_PROJECT)).getNativeCache();
+
+        for (long projectId = 0; projectId < 10; projectId++) {
+            cache.put(projectId, new CursorPageDTO<>(Collections.nCopies(300, "application"), null));
+        }
+        cache.cleanUp();
+
+        // Ten entries would fit a bound on entries; only three pages of 300 fit in 1000 rows
+        assertThat(cache.estimatedSize()).isEqualTo(3);
+        assertThat(cache.policy().eviction().orElseThrow().weightedSize()).hasValue(900);
+    }
+}
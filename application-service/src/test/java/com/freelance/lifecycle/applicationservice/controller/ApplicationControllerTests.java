@@ -0,0 +1,166 @@
+package com.freelance.lifecycle.applicationservice.controller;
+
+import com.freelance.lifecycle.applicationservice.dto.ApplicationResponseDTO;
+import com.freelance.lifecycle.applicationservice.dto.BatchItemResultDTO;
+import com.freelance.lifecycle.applicationservice.dto.BulkStatusUpdateDTO;
+import com.freelance.lifecycle.applicationservice.dto.BulkStatusUpdateResultDTO;
+import com.freelance.lifecycle.applicationservice.dto.CursorPageDTO;
+import com.freelance.lifecycle.applicationservice.dto.StatusUpdateDTO;
+import com.freelance.lifecycle.applicationservice.exception.ApplicationNotFoundException;
+import com.freelance.lifecycle.applicationservice.exception.InvalidBatchException;
+import com.freelance.lifecycle.applicationservice.exception.InvalidCursorException;
+import com.freelance.lifecycle.applicationservice.exception.StatusConflictException;
+import com.freelance.lifecycle.applicationservice.model.ApplicationStatus;
+import com.freelance.lifecycle.applicationservice.service.ApplicationService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(ApplicationController.class)
+class ApplicationControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ApplicationService applicationService;
+
+    @Test
+    void unknownApplicationIsNotFound() throws Exception {
+        when(applicationService.updateStatus(eq(1L), any(StatusUpdateDTO.class)))
+                .thenThrow(new ApplicationNotFoundException("Application not found with id: 1"));
+
+        mockMvc.perform(patchJson("/api/v1/applications/1/status", "{\"status\":\"ACCEPTED\"}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void transitionFromAFinalStatusIsAConflict() throws Exception {
+        when(applicationService.updateStatus(eq(1L), any(StatusUpdateDTO.class)))
+                .thenThrow(new StatusConflictException("Cannot change status from REJECTED to ACCEPTED"));
+
+        mockMvc.perform(patchJson("/api/v1/applications/1/status", "{\"status\":\"ACCEPTED\"}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Cannot change status from REJECTED to ACCEPTED"));
+    }
+
+    @Test
+    void bulkTransitionReportsTheUpdatedApplications() throws Exception {
+        when(applicationService.updateStatusByProjectId(eq(7L), any(BulkStatusUpdateDTO.class)))
+                .thenReturn(new BulkStatusUpdateResultDTO(7L, ApplicationStatus.REJECTED, 2, List.of(1L, 2L)));
+
+        mockMvc.perform(patchJson("/api/v1/applications/project/7/status",
+                        "{\"status\":\"REJECTED\",\"fromStatuses\":[\"PENDING\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updatedCount").value(2))
+                .andExpect(jsonPath("$.applicationIds[1]").value(2));
+    }
+
+    @Test
+    void bulkTransitionWithoutStatusIsRejected() throws Exception {
+        mockMvc.perform(patchJson("/api/v1/applications/project/7/status", "{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() throws Exception {
+        when(applicationService.getApplicationsByProjectId(7L, "garbage", null))
+                .thenThrow(new InvalidCursorException("Invalid cursor: garbage"));
+
+        mockMvc.perform(get("/api/v1/applications/project/7").param("cursor", "garbage"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor: garbage"));
+    }
+
+    @Test
+    void pageCarriesTheNextCursorInAHeader() throws Exception {
+        ApplicationResponseDTO application = new ApplicationResponseDTO();
+        application.setId(1L);
+        when(applicationService.getApplicationsByFreelancerId(70L, null, 1))
+                .thenReturn(new CursorPageDTO<>(List.of(application), "next"));
+
+        mockMvc.perform(get("/api/v1/applications/user/70").param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ApplicationController.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$[0].id").value(1));
+    }
+
+    @Test
+    void listingWithoutParametersIsTheFirstDefaultPage() throws Exception {
+        ApplicationResponseDTO application = new ApplicationResponseDTO();
+        application.setId(1L);
+        when(applicationService.getApplicationsByProjectId(7L, null, null))
+                .thenReturn(new CursorPageDTO<>(List.of(application), "next"));
+
+        mockMvc.perform(get("/api/v1/applications/project/7"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(ApplicationController.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    void lastPageHasNoNextCursor() throws Exception {
+        when(applicationService.getApplicationsByProjectId(7L, "last", null))
+                .thenReturn(new CursorPageDTO<>(List.of(), null));
+
+        mockMvc.perform(get("/api/v1/applications/project/7").param("cursor", "last"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ApplicationController.NEXT_CURSOR_HEADER));
+    }
+
+    @Test
+    void fullyCreatedBatchIsCreated() throws Exception {
+        when(applicationService.createApplications(anyList()))
+                .thenReturn(List.of(new BatchItemResultDTO(0, BatchItemResultDTO.Status.CREATED, new ApplicationResponseDTO(), null)));
+
+        mockMvc.perform(postJson("/api/v1/applications/batch", "[{\"projectId\":7,\"freelancerId\":70}]"))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    void partiallyRejectedBatchIsMultiStatus() throws Exception {
+        when(applicationService.createApplications(anyList())).thenReturn(List.of(
+                new BatchItemResultDTO(0, BatchItemResultDTO.Status.CREATED, new ApplicationResponseDTO(), null),
+                new BatchItemResultDTO(1, BatchItemResultDTO.Status.REJECTED, null, Map.of("projectId", "Project ID is required"))));
+
+        mockMvc.perform(postJson("/api/v1/applications/batch", "[{\"projectId\":7,\"freelancerId\":70},{\"freelancerId\":70}]"))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$[1].errors.projectId").value("Project ID is required"));
+    }
+
+    @Test
+    void oversizedBatchIsABadRequest() throws Exception {
+        when(applicationService.createApplications(anyList()))
+                .thenThrow(new InvalidBatchException("Batch cannot exceed 5000 applications"));
+
+        mockMvc.perform(postJson("/api/v1/applications/batch", "[{\"projectId\":7,\"freelancerId\":70}]"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private static RequestBuilder postJson(String path, String body) {
+        return post(path).contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+
+    private static RequestBuilder patchJson(String path, String body) {
+        return patch(path).contentType(MediaType.APPLICATION_JSON).content(body);
+    }
+}
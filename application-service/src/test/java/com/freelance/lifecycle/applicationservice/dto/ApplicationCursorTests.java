@@ -0,0 +1,54 @@
+package com.freelance.lifecycle.applicationservice.dto;
+
+import com.freelance.lifecycle.applicationservice.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ApplicationCursorTests {
+
+    @Test
+    void roundTripKeepsMicroseconds() {
+        ApplicationCursor cursor = new ApplicationCursor(LocalDateTime.of(2024, 3, 1, 9, 30, 15, 123_456_000), 42L);
+
+        assertThat(ApplicationCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void roundTripOnAWholeMinute() {
+        // LocalDateTime.toString drops zero seconds, which parse still accepts
+        ApplicationCursor cursor = new ApplicationCursor(LocalDateTime.of(2024, 3, 1, 9, 30), Long.MAX_VALUE);
+
+        assertThat(ApplicationCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void encodedFormIsSafeInAQueryString() {
+        String encoded = new ApplicationCursor(LocalDateTime.of(2024, 3, 1, 9, 30, 15, 999_999_000), 1L).encode();
+
+        assertThat(encoded).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        assertInvalid("not a cursor!");
+        assertInvalid(encode("42"));
+        assertInvalid(encode("yesterday|42"));
+        assertInvalid(encode("2024-03-01T09:30|abc"));
+    }
+
+    private static void assertInvalid(String cursor) {
+        assertThatThrownBy(() -> ApplicationCursor.decode(cursor))
+                .isInstanceOf(InvalidCursorException.class)
+                .hasMessage("Invalid cursor: " + cursor);
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
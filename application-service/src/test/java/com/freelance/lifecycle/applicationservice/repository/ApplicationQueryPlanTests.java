@@ -0,0 +1,81 @@
+package com.freelance.lifecycle.applicationservice.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations against a real PostgreSQL and checks that the listing queries
+ * are served by the V2 indexes instead of sequential scans.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class ApplicationQueryPlanTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        // Enough rows spread over enough keys that the planner prefers an index over a scan
+        jdbcTemplate.update("""
+                INSERT INTO applications (id, project_id, freelancer_id, employer_id, message, status, created_at)
+                SELECT g, g % 1000, g % 5000, g % 200, 'message ' || g, 'PENDING',
+                       TIMESTAMP '2024-01-01' + g * INTERVAL '1 minute'
+                FROM generate_series(1, 100000) AS g
+                """);
+        jdbcTemplate.execute("ANALYZE applications");
+    }
+
+    @Test
+    void projectListingUsesProjectIndex() {
+        assertThat(explain("""
+                SELECT * FROM applications WHERE project_id = 42
+                ORDER BY created_at DESC, id DESC LIMIT 51
+                """)).contains("idx_applications_project_created").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void projectKeysetPageUsesProjectIndex() {
+        assertThat(explain("""
+                SELECT * FROM applications WHERE project_id = 42
+                  AND (created_at < TIMESTAMP '2024-02-01' OR (created_at = TIMESTAMP '2024-02-01' AND id < 1000))
+                ORDER BY created_at DESC, id DESC LIMIT 51
+                """)).contains("idx_applications_project_created").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void freelancerListingUsesFreelancerIndex() {
+        assertThat(explain("""
+                SELECT * FROM applications WHERE freelancer_id = 42
+                ORDER BY created_at DESC, id DESC LIMIT 51
+                """)).contains("idx_applications_freelancer_created").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void employerLookupUsesEmployerIndex() {
+        assertThat(explain("SELECT * FROM applications WHERE employer_id = 42"))
+                .contains("idx_applications_employer").doesNotContain("Seq Scan");
+    }
+
+    private String explain(String sql) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        return String.join("\n", plan);
+    }
+}
@@ -0,0 +1,154 @@
+package com.freelance.lifecycle.applicationservice.repository;
+
+import com.freelance.lifecycle.applicationservice.dto.ApplicationResponseDTO;
+import com.freelance.lifecycle.applicationservice.model.Application;
+import com.freelance.lifecycle.applicationservice.model.ApplicationStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the compare-and-set status transitions and the keyset pages against a real PostgreSQL.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class ApplicationRepositoryTests {
+
+    private static final long PROJECT_ID = 7;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private ApplicationRepository applicationRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void transitionFromAnAllowedStatusReturnsTheUpdatedRow() {
+        Long id = persist(PROJECT_ID, ApplicationStatus.PENDING);
+        LocalDateTime updatedAt = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+        assertThat(applicationRepository.transitionStatus(id, "ACCEPTED", List.of("PENDING", "VIEWED"), updatedAt))
+                .hasValueSatisfying(application -> {
+                    assertThat(application.getStatus()).isEqualTo(ApplicationStatus.ACCEPTED);
+                    assertThat(application.getUpdatedAt()).isEqualTo(updatedAt);
+                });
+        assertThat(applicationRepository.findStatusById(id)).hasValue(ApplicationStatus.ACCEPTED);
+    }
+
+    @Test
+    void transitionFromAnotherStatusLeavesTheRowAlone() {
+        Long id = persist(PROJECT_ID, ApplicationStatus.REJECTED);
+
+        assertThat(applicationRepository.transitionStatus(id, "ACCEPTED", List.of("PENDING", "VIEWED"), LocalDateTime.now()))
+                .isEmpty();
+        assertThat(applicationRepository.transitionStatus(-1L, "ACCEPTED", List.of("PENDING"), LocalDateTime.now()))
+                .isEmpty();
+        assertThat(applicationRepository.findStatusById(id)).hasValue(ApplicationStatus.REJECTED);
+    }
+
+    @Test
+    void bulkTransitionOnlyTouchesAllowedRowsOfTheProject() {
+        Long pending = persist(PROJECT_ID, ApplicationStatus.PENDING);
+        Long viewed = persist(PROJECT_ID, ApplicationStatus.VIEWED);
+        Long accepted = persist(PROJECT_ID, ApplicationStatus.ACCEPTED);
+        Long otherProject = persist(PROJECT_ID + 1, ApplicationStatus.PENDING);
+
+        List<Application> updated = applicationRepository.transitionStatusByProjectId(
+                PROJECT_ID, "REJECTED", List.of("PENDING", "VIEWED"), LocalDateTime.now());
+
+        assertThat(updated).extracting(Application::getId).containsExactlyInAnyOrder(pending, viewed);
+        assertThat(updated).extracting(Application::getStatus).containsOnly(ApplicationStatus.REJECTED);
+        assertThat(applicationRepository.findStatusById(accepted)).hasValue(ApplicationStatus.ACCEPTED);
+        assertThat(applicationRepository.findStatusById(otherProject)).hasValue(ApplicationStatus.PENDING);
+    }
+
+    @Test
+    void managedCopyIsOnlyRefreshedAfterAClear() {
+        Long id = persist(PROJECT_ID, ApplicationStatus.PENDING);
+        Application managed = applicationRepository.findById(id).orElseThrow();
+
+        // Why the service flushes and clears before each transition
+        assertThat(applicationRepository.transitionStatus(id, "VIEWED", List.of("PENDING"), LocalDateTime.now()))
+                .hasValueSatisfying(application -> {
+                    assertThat(application).isSameAs(managed);
+                    assertThat(application.getStatus()).isEqualTo(ApplicationStatus.PENDING);
+                });
+
+        entityManager.clear();
+        assertThat(applicationRepository.transitionStatus(id, "ACCEPTED", List.of("VIEWED"), LocalDateTime.now()))
+                .hasValueSatisfying(application -> assertThat(application.getStatus()).isEqualTo(ApplicationStatus.ACCEPTED));
+    }
+
+    @Test
+    void keysetPagesWalkTiesOnCreatedAtWithoutGapsOrRepeats() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            // Three rows share a timestamp, so only the id tells them apart
+            ids.add(persist(PROJECT_ID, 70L, i < 3 ? createdAt : createdAt.minusMinutes(i)));
+        }
+        persist(PROJECT_ID + 1, 70L, createdAt);
+
+        List<Long> walked = new ArrayList<>();
+        List<ApplicationResponseDTO> page = applicationRepository.findPageByProjectId(PROJECT_ID, PageRequest.ofSize(2));
+        while (!page.isEmpty()) {
+            page.forEach(application -> walked.add(application.getId()));
+            ApplicationResponseDTO last = page.get(page.size() - 1);
+            page = applicationRepository.findPageByProjectIdAfter(
+                    PROJECT_ID, last.getCreatedAt(), last.getId(), PageRequest.ofSize(2));
+        }
+
+        // Same-timestamp rows come highest id first, before the older ones
+        assertThat(walked).containsExactly(ids.get(2), ids.get(1), ids.get(0), ids.get(3), ids.get(4));
+    }
+
+    @Test
+    void freelancerPageAfterStaysWithinTheFreelancer() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30);
+        Long newest = persist(PROJECT_ID, 70L, createdAt);
+        Long older = persist(PROJECT_ID + 1, 70L, createdAt.minusDays(1));
+        persist(PROJECT_ID, 71L, createdAt.minusDays(2));
+
+        assertThat(applicationRepository.findPageByFreelancerIdAfter(70L, createdAt, newest, PageRequest.ofSize(10)))
+                .extracting(ApplicationResponseDTO::getId).containsExactly(older);
+    }
+
+    private Long persist(long projectId, ApplicationStatus status) {
+        return persist(projectId, 70L, status, LocalDateTime.now());
+    }
+
+    private Long persist(long projectId, long freelancerId, LocalDateTime createdAt) {
+        return persist(projectId, freelancerId, ApplicationStatus.PENDING, createdAt);
+    }
+
+    private Long persist(long projectId, long freelancerId, ApplicationStatus status, LocalDateTime createdAt) {
+        Application application = new Application();
+        application.setProjectId(projectId);
+        application.setFreelancerId(freelancerId);
+        application.setEmployerId(1L);
+        application.setMessage("message");
+        application.setStatus(status);
+        application.setCreatedAt(createdAt);
+        Long id = entityManager.persistAndFlush(application).getId();
+        entityManager.clear();
+        return id;
+    }
+}
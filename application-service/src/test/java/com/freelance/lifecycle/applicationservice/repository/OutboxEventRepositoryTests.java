@@ -0,0 +1,89 @@
+package com.freelance.lifecycle.applicationservice.repository;
+
+import com.freelance.lifecycle.applicationservice.model.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the outbox lease and retry bookkeeping against a real PostgreSQL.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class OutboxEventRepositoryTests {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 5, 1, 12, 0);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void claimLeasesOnlyDueEventsUpToTheLimit() {
+        Long first = persist(NOW.minusMinutes(2));
+        Long second = persist(NOW.minusMinutes(1));
+        persist(NOW.minusSeconds(30));
+        Long notDue = persist(NOW.plusMinutes(1));
+        LocalDateTime leaseUntil = NOW.plusMinutes(1);
+
+        List<OutboxEvent> claimed = outboxEventRepository.claimNextBatch(NOW, leaseUntil, 2);
+
+        assertThat(claimed).extracting(OutboxEvent::getId).containsExactlyInAnyOrder(first, second);
+        assertThat(claimed).extracting(OutboxEvent::getNextAttemptAt).containsOnly(leaseUntil);
+        assertThat(outboxEventRepository.findById(notDue).orElseThrow().getNextAttemptAt()).isEqualTo(NOW.plusMinutes(1));
+    }
+
+    @Test
+    void leasedEventsAreNotClaimedAgainUntilTheLeaseRunsOut() {
+        Long id = persist(NOW);
+        LocalDateTime leaseUntil = NOW.plusMinutes(1);
+        outboxEventRepository.claimNextBatch(NOW, leaseUntil, 10);
+        entityManager.clear();
+
+        assertThat(outboxEventRepository.claimNextBatch(NOW.plusSeconds(30), NOW.plusMinutes(2), 10)).isEmpty();
+        assertThat(outboxEventRepository.claimNextBatch(leaseUntil, NOW.plusMinutes(2), 10))
+                .extracting(OutboxEvent::getId).containsExactly(id);
+    }
+
+    @Test
+    void retryRecordsTheAttemptAndMovesTheNextAttempt() {
+        Long id = persist(NOW);
+
+        assertThat(outboxEventRepository.scheduleRetry(id, 3, "nacked", NOW.plusSeconds(4))).isEqualTo(1);
+        entityManager.clear();
+
+        OutboxEvent event = outboxEventRepository.findById(id).orElseThrow();
+        assertThat(event.getAttempts()).isEqualTo(3);
+        assertThat(event.getLastError()).isEqualTo("nacked");
+        assertThat(event.getNextAttemptAt()).isEqualTo(NOW.plusSeconds(4));
+    }
+
+    private Long persist(LocalDateTime nextAttemptAt) {
+        OutboxEvent event = new OutboxEvent();
+        event.setExchange("notifications.exchange");
+        event.setRoutingKey("notifications.new");
+        event.setPayload("{}");
+        event.setNextAttemptAt(nextAttemptAt);
+        Long id = entityManager.persistAndFlush(event).getId();
+        entityManager.clear();
+        return id;
+    }
+}
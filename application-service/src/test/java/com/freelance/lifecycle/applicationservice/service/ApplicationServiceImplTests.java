@@ -0,0 +1,261 @@
+package com.freelance.lifecycle.applicationservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.freelance.lifecycle.applicationservice.dto.ApplicationCursor;
+import com.freelance.lifecycle.applicationservice.dto.ApplicationRequestDTO;
+import com.freelance.lifecycle.applicationservice.dto.ApplicationResponseDTO;
+import com.freelance.lifecycle.applicationservice.dto.BatchItemResultDTO;
+import com.freelance.lifecycle.applicationservice.dto.BulkStatusUpdateDTO;
+import com.freelance.lifecycle.applicationservice.dto.BulkStatusUpdateResultDTO;
+import com.freelance.lifecycle.applicationservice.dto.CursorPageDTO;
+import com.freelance.lifecycle.applicationservice.dto.StatusUpdateDTO;
+import com.freelance.lifecycle.applicationservice.exception.ApplicationNotFoundException;
+import com.freelance.lifecycle.applicationservice.exception.InvalidBatchException;
+import com.freelance.lifecycle.applicationservice.exception.InvalidCursorException;
+import com.freelance.lifecycle.applicationservice.exception.InvalidStatusException;
+import com.freelance.lifecycle.applicationservice.exception.StatusConflictException;
+import com.freelance.lifecycle.applicationservice.model.Application;
+import com.freelance.lifecycle.applicationservice.model.ApplicationStatus;
+import com.freelance.lifecycle.applicationservice.model.OutboxEvent;
+import com.freelance.lifecycle.applicationservice.repository.ApplicationRepository;
+import com.freelance.lifecycle.applicationservice.repository.OutboxEventRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.freelance.lifecycle.applicationservice.dto.BatchItemResultDTO.Status.CREATED;
+import static com.freelance.lifecycle.applicationservice.dto.BatchItemResultDTO.Status.REJECTED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ApplicationServiceImplTests {
+
+    private final ApplicationRepository applicationRepository = mock(ApplicationRepository.class);
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    private final EntityManager entityManager = mock(EntityManager.class);
+    private final ApplicationListCache applicationListCache = mock(ApplicationListCache.class);
+    private final ApplicationServiceImpl applicationService = new ApplicationServiceImpl(applicationRepository,
+            outboxEventRepository, new ObjectMapper(), entityManager,
+            Validation.buildDefaultValidatorFactory().getValidator(), applicationListCache);
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(applicationService, "maxBatchSize", 6);
+        ReflectionTestUtils.setField(applicationService, "jdbcBatchSize", 2);
+    }
+
+    @Test
+    void transitionIsAConditionalUpdateOnTheAllowedStatuses() {
+        when(applicationRepository.transitionStatus(eq(1L), eq("ACCEPTED"), anyCollection(), any()))
+                .thenReturn(Optional.of(application(1L, ApplicationStatus.ACCEPTED)));
+
+        ApplicationResponseDTO response = applicationService.updateStatus(1L, new StatusUpdateDTO(ApplicationStatus.ACCEPTED));
+
+        assertThat(response.getStatus()).isEqualTo(ApplicationStatus.ACCEPTED);
+        InOrder order = inOrder(entityManager, applicationRepository);
+        order.verify(entityManager).flush();
+        order.verify(entityManager).clear();
+        order.verify(applicationRepository).transitionStatus(eq(1L), eq("ACCEPTED"),
+                eq(List.of("PENDING", "VIEWED")), any());
+        verify(applicationRepository, never()).findStatusById(anyLong());
+        verify(outboxEventRepository).save(any(OutboxEvent.class));
+        verify(applicationListCache).evict(7L, 70L);
+    }
+
+    @Test
+    void missingApplicationIsNotFound() {
+        when(applicationRepository.transitionStatus(anyLong(), anyString(), anyCollection(), any())).thenReturn(Optional.empty());
+        when(applicationRepository.findStatusById(1L)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> applicationService.updateStatus(1L, new StatusUpdateDTO(ApplicationStatus.ACCEPTED)))
+                .isInstanceOf(ApplicationNotFoundException.class);
+        verifyNoInteractions(outboxEventRepository, applicationListCache);
+    }
+
+    @Test
+    void finalStatusIsAConflict() {
+        when(applicationRepository.transitionStatus(anyLong(), anyString(), anyCollection(), any())).thenReturn(Optional.empty());
+        when(applicationRepository.findStatusById(1L)).thenReturn(Optional.of(ApplicationStatus.REJECTED));
+
+        assertThatThrownBy(() -> applicationService.updateStatus(1L, new StatusUpdateDTO(ApplicationStatus.ACCEPTED)))
+                .isInstanceOf(StatusConflictException.class)
+                .hasMessage("Cannot change status from REJECTED to ACCEPTED");
+    }
+
+    @Test
+    void statusChangedBetweenUpdateAndLookupIsAConflict() {
+        // The update matched nothing, yet the status read afterwards allows it: another writer got in between
+        when(applicationRepository.transitionStatus(anyLong(), anyString(), anyCollection(), any())).thenReturn(Optional.empty());
+        when(applicationRepository.findStatusById(1L)).thenReturn(Optional.of(ApplicationStatus.VIEWED));
+
+        assertThatThrownBy(() -> applicationService.updateStatus(1L, new StatusUpdateDTO(ApplicationStatus.ACCEPTED)))
+                .isInstanceOf(StatusConflictException.class)
+                .hasMessageContaining("modified concurrently");
+    }
+
+    @Test
+    void statusWithoutPredecessorsIsRejectedUpfront() {
+        assertThatThrownBy(() -> applicationService.updateStatus(1L, new StatusUpdateDTO(ApplicationStatus.PENDING)))
+                .isInstanceOf(InvalidStatusException.class);
+        verifyNoInteractions(applicationRepository);
+    }
+
+    @Test
+    void bulkTransitionOnlyMatchesRequestedPredecessors() {
+        when(applicationRepository.transitionStatusByProjectId(eq(7L), eq("REJECTED"), anyCollection(), any()))
+                .thenReturn(List.of(application(1L, ApplicationStatus.REJECTED), application(2L, ApplicationStatus.REJECTED)));
+
+        BulkStatusUpdateResultDTO result = applicationService.updateStatusByProjectId(7L,
+                new BulkStatusUpdateDTO(ApplicationStatus.REJECTED, Set.of(ApplicationStatus.PENDING, ApplicationStatus.ACCEPTED)));
+
+        // ACCEPTED is final, so only PENDING is left to match
+        verify(applicationRepository).transitionStatusByProjectId(eq(7L), eq("REJECTED"),
+                eq(List.of("PENDING")), any(LocalDateTime.class));
+        assertThat(result.getUpdatedCount()).isEqualTo(2);
+        assertThat(result.getApplicationIds()).containsExactly(1L, 2L);
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OutboxEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(outboxEventRepository).saveAll(events.capture());
+        assertThat(events.getValue()).hasSize(2);
+        verify(applicationListCache).evict(Set.of(7L), Set.of(70L));
+    }
+
+    @Test
+    void bulkTransitionMatchingNothingEvictsNothing() {
+        when(applicationRepository.transitionStatusByProjectId(anyLong(), anyString(), anyCollection(), any())).thenReturn(List.of());
+
+        BulkStatusUpdateResultDTO result = applicationService.updateStatusByProjectId(7L,
+                new BulkStatusUpdateDTO(ApplicationStatus.VIEWED, null));
+
+        assertThat(result.getUpdatedCount()).isZero();
+        verify(applicationRepository).transitionStatusByProjectId(eq(7L), eq("VIEWED"),
+                eq(List.of("PENDING")), any());
+        verifyNoInteractions(applicationListCache);
+    }
+
+    @Test
+    void bulkTransitionWithoutAValidPredecessorIsRejected() {
+        assertThatThrownBy(() -> applicationService.updateStatusByProjectId(7L,
+                new BulkStatusUpdateDTO(ApplicationStatus.VIEWED, Set.of(ApplicationStatus.ACCEPTED))))
+                .isInstanceOf(InvalidStatusException.class);
+        verifyNoInteractions(applicationRepository);
+    }
+
+    @Test
+    void fullPageEndsWithACursorAtItsLastRow() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30);
+        when(applicationRepository.findPageByProjectId(7L, PageRequest.ofSize(3)))
+                .thenReturn(List.of(response(3L, createdAt), response(2L, createdAt), response(1L, createdAt)));
+
+        CursorPageDTO<ApplicationResponseDTO> page = applicationService.getApplicationsByProjectId(7L, null, 2);
+
+        assertThat(page.getItems()).extracting(ApplicationResponseDTO::getId).containsExactly(3L, 2L);
+        assertThat(ApplicationCursor.decode(page.getNextCursor())).isEqualTo(new ApplicationCursor(createdAt, 2L));
+    }
+
+    @Test
+    void cursorContinuesAfterItsPosition() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 3, 1, 9, 30);
+        when(applicationRepository.findPageByFreelancerIdAfter(70L, createdAt, 2L, PageRequest.ofSize(51)))
+                .thenReturn(List.of(response(1L, createdAt)));
+
+        CursorPageDTO<ApplicationResponseDTO> page = applicationService.getApplicationsByFreelancerId(
+                70L, new ApplicationCursor(createdAt, 2L).encode(), null);
+
+        assertThat(page.getItems()).extracting(ApplicationResponseDTO::getId).containsExactly(1L);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    void malformedCursorFailsBeforeQuerying() {
+        assertThatThrownBy(() -> applicationService.getApplicationsByProjectId(7L, "garbage", 10))
+                .isInstanceOf(InvalidCursorException.class);
+        verifyNoInteractions(applicationRepository);
+    }
+
+    @Test
+    void batchIsInsertedInJdbcBatchSizedChunksAroundRejectedItems() {
+        List<ApplicationRequestDTO> batch = List.of(request(1L), request(2L), request(null), request(4L), request(5L), request(6L));
+
+        List<BatchItemResultDTO> results = applicationService.createApplications(batch);
+
+        assertThat(results).extracting(BatchItemResultDTO::getIndex).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(results).extracting(BatchItemResultDTO::getStatus).containsExactly(CREATED, CREATED, REJECTED, CREATED, CREATED, CREATED);
+        assertThat(results.get(2).getErrors()).containsOnlyKeys("projectId");
+        assertThat(results.get(5).getApplication().getProjectId()).isEqualTo(6L);
+
+        // Valid items fill chunks of two; the rejected one does not break a chunk, the remainder is a chunk of its own
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Application>> chunks = ArgumentCaptor.forClass(List.class);
+        verify(applicationRepository, times(3)).saveAll(chunks.capture());
+        assertThat(chunks.getAllValues()).extracting(chunk -> chunk.stream().map(Application::getProjectId).collect(Collectors.toList()))
+                .containsExactly(List.of(1L, 2L), List.of(4L, 5L), List.of(6L));
+        verify(outboxEventRepository, times(3)).saveAll(anyList());
+        verify(entityManager, times(3)).flush();
+        verify(entityManager, times(3)).clear();
+    }
+
+    @Test
+    void batchOfOnlyRejectedItemsInsertsNothing() {
+        List<BatchItemResultDTO> results = applicationService.createApplications(List.of(request(null), request(null)));
+
+        assertThat(results).extracting(BatchItemResultDTO::getStatus).containsOnly(REJECTED);
+        verifyNoInteractions(applicationRepository, outboxEventRepository, entityManager);
+    }
+
+    @Test
+    void emptyOrOversizedBatchIsRejected() {
+        assertThatThrownBy(() -> applicationService.createApplications(List.of()))
+                .isInstanceOf(InvalidBatchException.class);
+        assertThatThrownBy(() -> applicationService.createApplications(Collections.nCopies(7, request(1L))))
+                .isInstanceOf(InvalidBatchException.class)
+                .hasMessage("Batch cannot exceed 6 applications");
+        verifyNoInteractions(applicationRepository);
+    }
+
+    private static ApplicationRequestDTO request(Long projectId) {
+        return new ApplicationRequestDTO(projectId, "Application", null, 70L, "message");
+    }
+
+    private static ApplicationResponseDTO response(Long id, LocalDateTime createdAt) {
+        ApplicationResponseDTO response = new ApplicationResponseDTO();
+        response.setId(id);
+        response.setCreatedAt(createdAt);
+        return response;
+    }
+
+    private static Application application(Long id, ApplicationStatus status) {
+        Application application = new Application();
+        application.setId(id);
+        application.setProjectId(7L);
+        application.setFreelancerId(70L);
+        application.setEmployerId(1L);
+        application.setStatus(status);
+        return application;
+    }
+}
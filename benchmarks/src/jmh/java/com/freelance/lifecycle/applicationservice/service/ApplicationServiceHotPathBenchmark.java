@@ -0,0 +1,78 @@
+package com.freelance.lifecycle.applicationservice.service;
+
+import com.freelance.lifecycle.applicationservice.dto.ApplicationResponseDTO;
+import com.freelance.lifecycle.applicationservice.exception.StatusConflictException;
+import com.freelance.lifecycle.applicationservice.model.Application;
+import com.freelance.lifecycle.applicationservice.model.ApplicationStatus;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU-only pieces of {@link ApplicationServiceImpl} that run on every status update and every
+ * response. Lives in the service package to reach the package-private methods; neither method
+ * touches the injected collaborators, so the service is built with nulls.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ApplicationServiceHotPathBenchmark {
+
+    private static final ApplicationStatus[] STATUSES = ApplicationStatus.values();
+
+    private ApplicationServiceImpl service;
+    private Application application;
+
+    @Setup
+    public void setUp() {
+        service = new ApplicationServiceImpl(null, null, null, null, null, null);
+
+        application = new Application();
+        application.setId(42L);
+        application.setProjectId(7L);
+        application.setFreelancerId(3L);
+        application.setEmployerId(1L);
+        application.setMessage("I have five years of experience with Spring Boot and PostgreSQL.");
+        application.setStatus(ApplicationStatus.VIEWED);
+        application.setCreatedAt(LocalDateTime.now());
+        application.setUpdatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public void validateAllowedTransition() {
+        service.validateStatusTransition(ApplicationStatus.PENDING, ApplicationStatus.ACCEPTED);
+    }
+
+    // Rejections build a StatusConflictException, which is where most of the cost is
+    @Benchmark
+    public Object validateRejectedTransition() {
+        try {
+            service.validateStatusTransition(ApplicationStatus.ACCEPTED, ApplicationStatus.REJECTED);
+            return null;
+        } catch (StatusConflictException e) {
+            return e;
+        }
+    }
+
+    // Full transition table, allowed and rejected pairs alike
+    @Benchmark
+    public void validateAllTransitions(Blackhole blackhole) {
+        for (ApplicationStatus from : STATUSES) {
+            for (ApplicationStatus to : STATUSES) {
+                try {
+                    service.validateStatusTransition(from, to);
+                    blackhole.consume(true);
+                } catch (StatusConflictException e) {
+                    blackhole.consume(e);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public ApplicationResponseDTO mapToResponseDTO() {
+        return service.mapToResponseDTO(application);
+    }
+}
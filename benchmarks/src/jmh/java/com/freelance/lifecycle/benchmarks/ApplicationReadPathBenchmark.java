@@ -0,0 +1,96 @@
+package com.freelance.lifecycle.benchmarks;
+
+import com.freelance.lifecycle.applicationservice.dto.ApplicationResponseDTO;
+import com.freelance.lifecycle.applicationservice.model.Application;
+import com.freelance.lifecycle.applicationservice.model.ApplicationStatus;
+import com.freelance.lifecycle.applicationservice.repository.ApplicationRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Listing a large project: managed entities copied into DTOs (the original read path)
+ * versus constructor projections straight into {@link ApplicationResponseDTO}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ApplicationReadPathBenchmark {
+
+    private static final long PROJECT_ID = 1L;
+
+    @Param({"1000", "10000"})
+    int rows;
+
+    private ConfigurableApplicationContext context;
+    private ApplicationRepository applicationRepository;
+    private TransactionTemplate readOnlyTransaction;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Application.class)
+    @EnableJpaRepositories(basePackageClasses = ApplicationRepository.class)
+    static class Config {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start(Config.class);
+        applicationRepository = context.getBean(ApplicationRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        List<Application> applications = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Application application = new Application();
+            application.setProjectId(PROJECT_ID);
+            application.setFreelancerId((long) i);
+            application.setEmployerId(1L);
+            application.setMessage("I would like to work on this project, proposal #" + i);
+            application.setStatus(ApplicationStatus.PENDING);
+            applications.add(application);
+        }
+        applicationRepository.saveAll(applications);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ApplicationResponseDTO> entityHydration() {
+        return readOnlyTransaction.execute(status -> applicationRepository.findByProjectId(PROJECT_ID).stream()
+                .map(ApplicationReadPathBenchmark::toDTO)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<ApplicationResponseDTO> dtoProjection() {
+        return readOnlyTransaction.execute(status -> applicationRepository.findResponsesByProjectId(PROJECT_ID));
+    }
+
+    // Same field copy the service performed before reads switched to projections
+    private static ApplicationResponseDTO toDTO(Application application) {
+        ApplicationResponseDTO dto = new ApplicationResponseDTO();
+        dto.setId(application.getId());
+        dto.setProjectId(application.getProjectId());
+        dto.setFreelancerId(application.getFreelancerId());
+        dto.setEmployerId(application.getEmployerId());
+        dto.setMessage(application.getMessage());
+        dto.setStatus(application.getStatus());
+        dto.setCreatedAt(application.getCreatedAt());
+        dto.setUpdatedAt(application.getUpdatedAt());
+        return dto;
+    }
+}
@@ -0,0 +1,26 @@
+package com.freelance.lifecycle.benchmarks;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.amqp.RabbitAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Starts trimmed-down Spring contexts for the benchmarks: JPA against an in-memory H2
+ * database, no web server and no RabbitMQ connection.
+ */
+final class BenchmarkContexts {
+
+    private BenchmarkContexts() {
+    }
+
+    static ConfigurableApplicationContext start(Class<?> configuration) {
+        return new SpringApplicationBuilder(configuration)
+                .web(WebApplicationType.NONE)
+                .run("--spring.config.name=benchmark",
+                        "--spring.datasource.url=jdbc:h2:mem:" + configuration.getSimpleName() + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        // The services' migrations are PostgreSQL specific; H2 gets its schema from Hibernate
+                        "--spring.flyway.enabled=false",
+                        "--spring.autoconfigure.exclude=" + RabbitAutoConfiguration.class.getName());
+    }
+}
@@ -0,0 +1,91 @@
+package com.freelance.lifecycle.benchmarks;
+
+import com.freelance.lifecycle.notificationservice.dto.NotificationDTO;
+import com.freelance.lifecycle.notificationservice.dto.NotificationEventDTO;
+import com.freelance.lifecycle.notificationservice.model.Notification;
+import com.freelance.lifecycle.notificationservice.model.NotificationType;
+import com.freelance.lifecycle.notificationservice.repository.NotificationRepository;
+import com.freelance.lifecycle.notificationservice.service.NotificationCoalescer;
+import com.freelance.lifecycle.notificationservice.service.NotificationService;
+import com.freelance.lifecycle.notificationservice.service.NotificationServiceImpl;
+import com.freelance.lifecycle.notificationservice.service.NotificationStreams;
+import com.freelance.lifecycle.notificationservice.service.ProcessedEvents;
+import com.freelance.lifecycle.notificationservice.service.UnreadCounters;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end {@link NotificationService#createNotification} through the transactional Spring
+ * proxy: transaction, insert and mapping, against an in-memory H2 database. The batch variant
+ * stores a consumer-sized batch in one transaction; divide by its size to compare per message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CreateNotificationBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private NotificationService notificationService;
+    private NotificationRepository notificationRepository;
+    private NotificationEventDTO event;
+    private List<NotificationEventDTO> batch;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Notification.class)
+    @EnableJpaRepositories(basePackageClasses = NotificationRepository.class)
+    @Import({NotificationServiceImpl.class, UnreadCounters.class, NotificationStreams.class,
+            ProcessedEvents.class, NotificationCoalescer.class})
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start(Config.class);
+        notificationService = context.getBean(NotificationService.class);
+        notificationRepository = context.getBean(NotificationRepository.class);
+        // Without an event id and with coalescing off (the benchmark profile does not enable it): the dedup
+        // claim and the digest lock need PostgreSQL, so this measures the insert path alone
+        event = new NotificationEventDTO(null, 3L, "New application 'Backend developer' was submitted for project 7",
+                NotificationType.NEW_APPLICATION, "project-7");
+        batch = Collections.nCopies(100, event);
+    }
+
+    // Keeps the table from growing across iterations so later ones are not measuring a bigger index
+    @TearDown(Level.Iteration)
+    public void clearTable() {
+        notificationRepository.deleteAllInBatch();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public NotificationDTO createNotification() {
+        return notificationService.createNotification(event);
+    }
+
+    @Benchmark
+    public List<NotificationDTO> createNotificationBatch() {
+        return notificationService.createNotifications(batch);
+    }
+}
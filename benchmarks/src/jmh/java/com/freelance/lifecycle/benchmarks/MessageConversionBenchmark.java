@@ -0,0 +1,74 @@
+package com.freelance.lifecycle.benchmarks;
+
+import com.freelance.lifecycle.applicationservice.messaging.NotificationEventDTO;
+import com.freelance.lifecycle.notificationservice.model.NotificationType;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON conversion of both {@code NotificationEventDTO} classes through the
+ * {@link Jackson2JsonMessageConverter} that each service registers in its RabbitMQConfig.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageConversionBenchmark {
+
+    private static final String MESSAGE = "New application 'Backend developer' was submitted for project 7";
+
+    private Jackson2JsonMessageConverter converter;
+    private NotificationEventDTO applicationEvent;
+    private com.freelance.lifecycle.notificationservice.dto.NotificationEventDTO notificationEvent;
+    private Message applicationMessage;
+    private Message notificationMessage;
+    private Message crossServiceMessage;
+
+    @Setup
+    public void setUp() {
+        converter = new Jackson2JsonMessageConverter();
+
+        UUID eventId = UUID.randomUUID();
+        applicationEvent = new NotificationEventDTO(eventId, 3L, MESSAGE, "NEW_APPLICATION", "project-7");
+        notificationEvent = new com.freelance.lifecycle.notificationservice.dto.NotificationEventDTO(
+                eventId, 3L, MESSAGE, NotificationType.NEW_APPLICATION, "project-7");
+
+        applicationMessage = converter.toMessage(applicationEvent, new MessageProperties());
+        notificationMessage = converter.toMessage(notificationEvent, new MessageProperties());
+
+        // What the consumer really sees: the producer's payload, converted to the type of the
+        // @RabbitListener parameter rather than the class named in the __TypeId__ header
+        crossServiceMessage = converter.toMessage(applicationEvent, new MessageProperties());
+        crossServiceMessage.getMessageProperties().setInferredArgumentType(
+                com.freelance.lifecycle.notificationservice.dto.NotificationEventDTO.class);
+    }
+
+    @Benchmark
+    public Message serializeApplicationEvent() {
+        return converter.toMessage(applicationEvent, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object deserializeApplicationEvent() {
+        return converter.fromMessage(applicationMessage);
+    }
+
+    @Benchmark
+    public Message serializeNotificationEvent() {
+        return converter.toMessage(notificationEvent, new MessageProperties());
+    }
+
+    @Benchmark
+    public Object deserializeNotificationEvent() {
+        return converter.fromMessage(notificationMessage);
+    }
+
+    @Benchmark
+    public Object deserializeCrossService() {
+        return converter.fromMessage(crossServiceMessage);
+    }
+}
@@ -0,0 +1,96 @@
+package com.freelance.lifecycle.benchmarks;
+
+import com.freelance.lifecycle.notificationservice.dto.NotificationDTO;
+import com.freelance.lifecycle.notificationservice.model.Notification;
+import com.freelance.lifecycle.notificationservice.model.NotificationType;
+import com.freelance.lifecycle.notificationservice.repository.NotificationRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Loading a large inbox: managed entities copied into DTOs (the original read path)
+ * versus constructor projections straight into {@link NotificationDTO}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class NotificationReadPathBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final LocalDateTime ALL_HISTORY = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Param({"1000", "10000"})
+    int rows;
+
+    private ConfigurableApplicationContext context;
+    private NotificationRepository notificationRepository;
+    private TransactionTemplate readOnlyTransaction;
+
+    @SpringBootConfiguration
+    @EnableAutoConfiguration
+    @EntityScan(basePackageClasses = Notification.class)
+    @EnableJpaRepositories(basePackageClasses = NotificationRepository.class)
+    static class Config {
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContexts.start(Config.class);
+        notificationRepository = context.getBean(NotificationRepository.class);
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+
+        List<Notification> notifications = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            Notification notification = new Notification();
+            notification.setUserId(USER_ID);
+            notification.setMessage("New application 'Proposal " + i + "' was submitted for project 1");
+            notification.setType(NotificationType.NEW_APPLICATION);
+            notification.setIsRead(i % 3 == 0);
+            notifications.add(notification);
+        }
+        notificationRepository.saveAll(notifications);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<NotificationDTO> entityHydration() {
+        return readOnlyTransaction.execute(status -> notificationRepository.findByUserIdOrderByCreatedAtDesc(USER_ID).stream()
+                .map(NotificationReadPathBenchmark::toDTO)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public List<NotificationDTO> dtoProjection() {
+        return readOnlyTransaction.execute(status -> notificationRepository.findDTOsByUserId(USER_ID, ALL_HISTORY));
+    }
+
+    // Same field copy the service performed before reads switched to projections
+    private static NotificationDTO toDTO(Notification notification) {
+        NotificationDTO dto = new NotificationDTO();
+        dto.setId(notification.getId());
+        dto.setUserId(notification.getUserId());
+        dto.setMessage(notification.getMessage());
+        dto.setIsRead(notification.getIsRead());
+        dto.setType(notification.getType());
+        dto.setCreatedAt(notification.getCreatedAt());
+        dto.setUpdatedAt(notification.getUpdatedAt());
+        return dto;
+    }
+}
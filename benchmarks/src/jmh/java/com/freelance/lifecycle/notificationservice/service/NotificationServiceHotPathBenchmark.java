@@ -0,0 +1,40 @@
+package com.freelance.lifecycle.notificationservice.service;
+
+import com.freelance.lifecycle.notificationservice.dto.NotificationDTO;
+import com.freelance.lifecycle.notificationservice.model.Notification;
+import com.freelance.lifecycle.notificationservice.model.NotificationType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping in {@link NotificationServiceImpl}. Lives in the service package to
+ * reach the package-private method; its collaborators are not used by it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class NotificationServiceHotPathBenchmark {
+
+    private NotificationServiceImpl service;
+    private Notification notification;
+
+    @Setup
+    public void setUp() {
+        service = new NotificationServiceImpl(null, null, null, null, null, null, null);
+
+        notification = new Notification();
+        notification.setId(42L);
+        notification.setUserId(3L);
+        notification.setMessage("New application 'Backend developer' was submitted for project 7");
+        notification.setType(NotificationType.NEW_APPLICATION);
+        notification.setIsRead(false);
+        notification.setCreatedAt(LocalDateTime.now());
+    }
+
+    @Benchmark
+    public NotificationDTO mapToDTO() {
+        return service.mapToDTO(notification);
+    }
+}
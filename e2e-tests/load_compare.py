@@ -0,0 +1,125 @@
+# e2e-tests/load_compare.py
+"""
+Closed-loop load comparison between service instances, e.g. the default
+platform-thread model against the `virtual-threads` profile.
+
+Each target is run in turn with the same number of concurrent clients for the
+same duration; throughput and latency percentiles are printed side by side.
+Only the standard library is used so it runs without the e2e requirements.
+
+Example (two application-service instances, one per thread model):
+
+    java -jar app.jar --server.port=8080
+    java -jar app.jar --server.port=8081 --spring.profiles.active=virtual-threads
+
+    python load_compare.py --concurrency 1000 --duration 30 \
+        --target platform=http://localhost:8080/api/v1/applications/project/1 \
+        --target virtual=http://localhost:8081/api/v1/applications/project/1
+"""
+import argparse
+import http.client
+import json
+import threading
+import time
+from urllib.parse import urlsplit
+
+
+def worker(url, method, body, deadline, latencies, errors, lock):
+    parts = urlsplit(url)
+    path = parts.path + ("?" + parts.query if parts.query else "")
+    headers = {"Content-Type": "application/json"} if body else {}
+    conn = None
+    local_latencies = []
+    local_errors = 0
+    while time.perf_counter() < deadline:
+        if conn is None:
+            conn = http.client.HTTPConnection(parts.hostname, parts.port or 80, timeout=30)
+        start = time.perf_counter()
+        try:
+            conn.request(method, path, body=body, headers=headers)
+            response = conn.getresponse()
+            response.read()
+            if response.status >= 400:
+                local_errors += 1
+            else:
+                local_latencies.append(time.perf_counter() - start)
+        except (OSError, http.client.HTTPException):
+            local_errors += 1
+            conn.close()
+            conn = None
+    if conn is not None:
+        conn.close()
+    with lock:
+        latencies.extend(local_latencies)
+        errors[0] += local_errors
+
+
+def run(url, method, body, concurrency, duration):
+    latencies, errors, lock = [], [0], threading.Lock()
+    deadline = time.perf_counter() + duration
+    threads = [
+        threading.Thread(target=worker, args=(url, method, body, deadline, latencies, errors, lock), daemon=True)
+        for _ in range(concurrency)
+    ]
+    started = time.perf_counter()
+    for thread in threads:
+        thread.start()
+    for thread in threads:
+        thread.join()
+    elapsed = time.perf_counter() - started
+    return summarize(latencies, errors[0], elapsed)
+
+
+def percentile(sorted_values, fraction):
+    if not sorted_values:
+        return float("nan")
+    index = min(len(sorted_values) - 1, int(round(fraction * (len(sorted_values) - 1))))
+    return sorted_values[index]
+
+
+def summarize(latencies, errors, elapsed):
+    latencies.sort()
+    return {
+        "requests": len(latencies),
+        "errors": errors,
+        "throughput_rps": len(latencies) / elapsed,
+        "p50_ms": percentile(latencies, 0.50) * 1000,
+        "p95_ms": percentile(latencies, 0.95) * 1000,
+        "p99_ms": percentile(latencies, 0.99) * 1000,
+        "max_ms": (latencies[-1] if latencies else float("nan")) * 1000,
+    }
+
+
+def main():
+    parser = argparse.ArgumentParser(description=__doc__, formatter_class=argparse.RawDescriptionHelpFormatter)
+    parser.add_argument("--target", action="append", required=True, metavar="LABEL=URL",
+                        help="service endpoint to load; repeat once per thread model")
+    parser.add_argument("--concurrency", type=int, default=500, help="concurrent clients (default: 500)")
+    parser.add_argument("--duration", type=float, default=30, help="seconds per target (default: 30)")
+    parser.add_argument("--warmup", type=float, default=10, help="unmeasured seconds per target (default: 10)")
+    parser.add_argument("--method", default="GET")
+    parser.add_argument("--body", help="JSON request body, e.g. for POST /api/v1/applications")
+    parser.add_argument("--json", help="also write the results to this file")
+    args = parser.parse_args()
+
+    body = args.body.encode() if args.body else None
+    results = {}
+    for target in args.target:
+        label, _, url = target.partition("=")
+        print(f"{label}: warming up for {args.warmup:.0f}s, then {args.concurrency} clients for {args.duration:.0f}s")
+        run(url, args.method, body, min(args.concurrency, 50), args.warmup)
+        results[label] = run(url, args.method, body, args.concurrency, args.duration)
+
+    print()
+    print(f"{'target':<12}{'requests':>10}{'errors':>8}{'req/s':>10}{'p50 ms':>10}{'p95 ms':>10}{'p99 ms':>10}{'max ms':>10}")
+    for label, r in results.items():
+        print(f"{label:<12}{r['requests']:>10}{r['errors']:>8}{r['throughput_rps']:>10.1f}"
+              f"{r['p50_ms']:>10.1f}{r['p95_ms']:>10.1f}{r['p99_ms']:>10.1f}{r['max_ms']:>10.1f}")
+
+    if args.json:
+        with open(args.json, "w") as f:
+            json.dump({"concurrency": args.concurrency, "duration_s": args.duration, "results": results}, f, indent=2)
+
+
+if __name__ == "__main__":
+    main()
@@ -1,23 +1,103 @@
 package com.freelance.lifecycle.notificationservice.config;
 
+import com.freelance.lifecycle.notificationservice.messaging.RetrySchedule;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.CustomExchange;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
 import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 public class RabbitMQConfig {
 
     public static final String NOTIFICATIONS_QUEUE = "notifications.queue";
+    public static final String DEAD_LETTER_QUEUE = "notifications.queue.dlq";
+    public static final String SHARDED_EXCHANGE = "notifications.sharded";
+    private static final String SHARD_QUEUE_PREFIX = "notifications.shard.";
 
+    // Declared without arguments, exactly like application-service does
     @Bean
     public Queue notificationsQueue() {
         return new Queue(NOTIFICATIONS_QUEUE, true); // durable queue
     }
 
+    /**
+     * One delay queue per retry attempt. FailedMessageRouter publishes a failed event to the queue
+     * of its next attempt; when the queue's TTL expires the broker dead-letters it back to the
+     * main queue through the default exchange. Events that cannot be processed end up in the DLQ.
+     * With sharding the retry queues dead-letter to the consistent-hash exchange instead, keeping
+     * the userId routing key the event was published with, so it returns to its user's shard.
+     */
+    @Bean
+    public Declarables notificationRetryTopology(RetrySchedule retrySchedule,
+                                                 @Value("${notifications.sharding.enabled:false}") boolean sharded) {
+        List<Declarable> declarables = new ArrayList<>();
+        for (long delayMs : retrySchedule.delaysMs()) {
+            if (sharded) {
+                String name = RetrySchedule.shardedRetryQueueName(delayMs);
+                Queue queue = QueueBuilder.durable(name)
+                        .ttl((int) delayMs)
+                        .deadLetterExchange(SHARDED_EXCHANGE)
+                        .build();
+                FanoutExchange exchange = new FanoutExchange(name, true, false);
+                declarables.add(queue);
+                declarables.add(exchange);
+                declarables.add(BindingBuilder.bind(queue).to(exchange));
+            } else {
+                declarables.add(QueueBuilder.durable(RetrySchedule.retryQueueName(delayMs))
+                        .ttl((int) delayMs)
+                        .deadLetterExchange("")
+                        .deadLetterRoutingKey(NOTIFICATIONS_QUEUE)
+                        .build());
+            }
+        }
+        declarables.add(QueueBuilder.durable(DEAD_LETTER_QUEUE).build());
+        return new Declarables(declarables);
+    }
+
+    /**
+     * Sharded topology (see ShardedConsumers): a consistent-hash exchange, from the
+     * rabbitmq_consistent_hash_exchange plugin, that routes each event by its routing key (the
+     * userId) to one of the shard queues. Every shard queue has a single active consumer, so a
+     * user's events are consumed in the order they were published. Nothing is declared when
+     * sharding is disabled, so brokers without the plugin keep working.
+     */
+    @Bean
+    public Declarables notificationShardTopology(@Value("${notifications.sharding.enabled:false}") boolean enabled,
+                                                 @Value("${notifications.sharding.shards:16}") int shards) {
+        if (!enabled) {
+            return new Declarables();
+        }
+        List<Declarable> declarables = new ArrayList<>();
+        CustomExchange exchange = new CustomExchange(SHARDED_EXCHANGE, "x-consistent-hash", true, false);
+        declarables.add(exchange);
+        for (int shard = 0; shard < shards; shard++) {
+            Queue queue = QueueBuilder.durable(shardQueueName(shard)).singleActiveConsumer().build();
+            declarables.add(queue);
+            // The binding key is the shard's weight on the hash ring; equal weights spread users evenly
+            declarables.add(BindingBuilder.bind(queue).to(exchange).with("1").noargs());
+        }
+        return new Declarables(declarables);
+    }
+
+    public static String shardQueueName(int shard) {
+        return SHARD_QUEUE_PREFIX + shard;
+    }
+
     @Bean
     public Jackson2JsonMessageConverter messageConverter() {
         return new Jackson2JsonMessageConverter();
@@ -31,12 +111,26 @@ public class RabbitMQConfig {
     }
 
     @Bean
-    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(ConnectionFactory connectionFactory) {
+    public SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory,
+            @Value("${notifications.consumer.batch-size:100}") int batchSize,
+            @Value("${notifications.consumer.receive-timeout-ms:200}") long receiveTimeoutMs,
+            @Value("${notifications.consumer.prefetch:250}") int prefetch) {
         SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
-        factory.setConnectionFactory(connectionFactory);
+        // Applies spring.rabbitmq.listener.simple.*, including the virtual-thread executor
+        // when spring.threads.virtual.enabled is set
+        configurer.configure(factory, connectionFactory);
         factory.setMessageConverter(messageConverter());
         factory.setConcurrentConsumers(3);
         factory.setMaxConcurrentConsumers(10);
+        // Listeners receive up to batchSize messages per call and settle each delivery
+        // themselves (see NotificationEventConsumer)
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(batchSize);
+        factory.setReceiveTimeout(receiveTimeoutMs);
+        factory.setPrefetchCount(Math.max(prefetch, batchSize));
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
         return factory;
     }
 }
@@ -0,0 +1,50 @@
+package com.freelance.lifecycle.notificationservice.controller;
+
+import com.freelance.lifecycle.notificationservice.dto.DeadLetterQueueDTO;
+import com.freelance.lifecycle.notificationservice.dto.DeadLetterReplayResultDTO;
+import com.freelance.lifecycle.notificationservice.messaging.DeadLetterAdmin;
+import com.freelance.lifecycle.notificationservice.messaging.FailedMessageRouter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/notifications/admin/dead-letters")
+public class DeadLetterController {
+
+    private static final Logger log = LoggerFactory.getLogger(DeadLetterController.class);
+    private static final int MAX_PEEK = 500;
+    private static final int MAX_REPLAY = 10000;
+    private static final int MAX_SCAN = 50000;
+
+    private final DeadLetterAdmin deadLetterAdmin;
+
+    public DeadLetterController(DeadLetterAdmin deadLetterAdmin) {
+        this.deadLetterAdmin = deadLetterAdmin;
+    }
+
+    @GetMapping
+    public ResponseEntity<DeadLetterQueueDTO> getDeadLetters(@RequestParam(defaultValue = "50") int limit) {
+        log.info("GET request for dead-lettered notification events (limit {})", limit);
+
+        DeadLetterQueueDTO deadLetters = deadLetterAdmin.peek(Math.max(0, Math.min(limit, MAX_PEEK)));
+
+        log.info("{} dead-lettered notification events queued", deadLetters.getQueueDepth());
+        return ResponseEntity.ok(deadLetters);
+    }
+
+    @PostMapping("/replay")
+    public ResponseEntity<DeadLetterReplayResultDTO> replay(@RequestParam(defaultValue = "1000") int limit,
+                                                            @RequestParam(required = false) FailedMessageRouter.Reason reason,
+                                                            @RequestParam(defaultValue = "10000") int maxScan) {
+        log.info("POST request to replay dead-lettered notification events (limit {}, reason {}, maxScan {})",
+                limit, reason, maxScan);
+
+        DeadLetterReplayResultDTO result = deadLetterAdmin.replay(Math.max(0, Math.min(limit, MAX_REPLAY)), reason,
+                Math.max(0, Math.min(maxScan, MAX_SCAN)));
+
+        log.info("{} dead-lettered notification events replayed", result.getReplayed());
+        return ResponseEntity.ok(result);
+    }
+}
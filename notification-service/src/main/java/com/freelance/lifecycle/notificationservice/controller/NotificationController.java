@@ -1,10 +1,22 @@
 package com.freelance.lifecycle.notificationservice.controller;
 
+import com.freelance.lifecycle.notificationservice.dto.CursorPageDTO;
+import com.freelance.lifecycle.notificationservice.dto.InboxVersionDTO;
+import com.freelance.lifecycle.notificationservice.dto.MarkAsReadRequestDTO;
 import com.freelance.lifecycle.notificationservice.dto.NotificationDTO;
+import com.freelance.lifecycle.notificationservice.dto.ReadReceiptDTO;
+import com.freelance.lifecycle.notificationservice.dto.SyncCursor;
+import com.freelance.lifecycle.notificationservice.exception.InvalidCursorException;
 import com.freelance.lifecycle.notificationservice.service.NotificationService;
+import jakarta.validation.Valid;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.ZoneId;
 import java.util.List;
 
 import org.slf4j.Logger;
@@ -15,6 +27,9 @@ import org.slf4j.LoggerFactory;
 public class NotificationController {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationController.class);
+    static final String NEXT_SINCE_HEADER = "X-Next-Since";
+    static final String HAS_MORE_HEADER = "X-Has-More";
+
     private final NotificationService notificationService;
 
     public NotificationController(NotificationService notificationService) {
@@ -22,13 +37,44 @@ public class NotificationController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<NotificationDTO>> getNotificationsForUser(@PathVariable Long userId) {
-        log.info("GET request for notifications of user {}", userId);
-        
-        List<NotificationDTO> notifications = notificationService.getNotificationsForUser(userId);
-        
-        log.info("Returning {} notifications for user {}", notifications.size(), userId);
-        return ResponseEntity.ok(notifications);
+    public ResponseEntity<List<NotificationDTO>> getNotificationsForUser(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "false") boolean history,
+            WebRequest request) {
+        log.info("GET request for notifications of user {} (since {}, limit {}, history {})", userId, since, limit, history);
+
+        // Unchanged inbox: answer 304 from a single aggregate query, before any row is loaded
+        InboxVersionDTO version = notificationService.getInboxVersion(userId, history);
+        long lastModified = version.getLastModified() == null ? -1
+                : version.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        String eTag = inboxETag(version.getNotificationCount(), lastModified, since, limit, history);
+        if (request.checkNotModified(eTag, lastModified)) {
+            log.debug("Notifications of user {} not modified", userId);
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate());
+        if (lastModified >= 0) {
+            response.lastModified(lastModified);
+        }
+
+        if (since == null && limit == null) {
+            List<NotificationDTO> notifications = notificationService.getNotificationsForUser(userId, history);
+            log.info("Returning {} notifications for user {}", notifications.size(), userId);
+            return response.body(notifications);
+        }
+
+        CursorPageDTO<NotificationDTO> page = notificationService.getNotificationsForUser(userId, since, limit, history);
+        response.header(NEXT_SINCE_HEADER, page.getNextSince());
+        if (page.isHasMore()) {
+            response.header(HAS_MORE_HEADER, "true");
+        }
+        log.info("Returning {} notifications for user {}", page.getItems().size(), userId);
+        return response.body(page.getItems());
     }
 
     @PatchMapping("/{id}/read")
@@ -41,6 +87,27 @@ public class NotificationController {
         return ResponseEntity.ok(notification);
     }
 
+    @PatchMapping("/user/{userId}/read-all")
+    public ResponseEntity<ReadReceiptDTO> markAllAsRead(@PathVariable Long userId) {
+        log.info("PATCH request to mark all notifications of user {} as read", userId);
+
+        ReadReceiptDTO receipt = notificationService.markAllAsReadForUser(userId);
+
+        log.info("{} notifications of user {} marked as read", receipt.getUpdatedCount(), userId);
+        return ResponseEntity.ok(receipt);
+    }
+
+    @PatchMapping("/read")
+    public ResponseEntity<ReadReceiptDTO> markAsRead(@Valid @RequestBody MarkAsReadRequestDTO request) {
+        log.info("PATCH request to mark {} notifications of user {} as read",
+                request.getNotificationIds().size(), request.getUserId());
+
+        ReadReceiptDTO receipt = notificationService.markAsRead(request);
+
+        log.info("{} notifications of user {} marked as read", receipt.getUpdatedCount(), request.getUserId());
+        return ResponseEntity.ok(receipt);
+    }
+
     @GetMapping("/user/{userId}/unread-count")
     public ResponseEntity<Long> getUnreadCount(@PathVariable Long userId) {
         log.debug("GET request for unread count of user {}", userId);
@@ -50,4 +117,32 @@ public class NotificationController {
         log.debug("User {} has {} unread notifications", userId, count);
         return ResponseEntity.ok(count);
     }
+
+    // EventSource sends Last-Event-ID on reconnect; the query parameter covers clients that cannot set headers
+    @GetMapping(path = "/user/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamNotifications(@PathVariable Long userId,
+                                          @RequestHeader(value = "Last-Event-ID", required = false) String lastEventIdHeader,
+                                          @RequestParam(value = "lastEventId", required = false) String lastEventIdParam) {
+        SyncCursor lastEventId = parseEventId(lastEventIdHeader != null ? lastEventIdHeader : lastEventIdParam);
+        log.info("GET request for notification stream of user {}", userId);
+        return notificationService.streamNotificationsForUser(userId, lastEventId);
+    }
+
+    // The same inbox state yields a different body per since/limit/history, so they are part of the tag
+    private static String inboxETag(long notificationCount, long lastModified, String since, Integer limit, boolean history) {
+        return "W/\"" + notificationCount + "-" + Math.max(lastModified, 0) + "-" + since + "-" + limit
+                + (history ? "-h" : "") + "\"";
+    }
+
+    // An id this service never issued means nothing to replay from
+    private static SyncCursor parseEventId(String eventId) {
+        if (eventId == null || eventId.isBlank()) {
+            return null;
+        }
+        try {
+            return SyncCursor.decode(eventId.trim());
+        } catch (InvalidCursorException e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,21 @@
+package com.freelance.lifecycle.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+
+    // Value to pass as the next `since`; always set, the client keeps it between syncs
+    private String nextSince;
+
+    // Another page is ready now; otherwise sync again later from nextSince
+    private boolean hasMore;
+}
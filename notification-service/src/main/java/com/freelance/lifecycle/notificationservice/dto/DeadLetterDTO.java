@@ -0,0 +1,17 @@
+package com.freelance.lifecycle.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterDTO {
+    private String messageId;
+    private String reason;
+    private String detail;
+    private int retryCount;
+    private String failedAt;
+    private String payload;
+}
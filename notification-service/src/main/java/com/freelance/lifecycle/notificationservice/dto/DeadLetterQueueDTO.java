@@ -0,0 +1,18 @@
+package com.freelance.lifecycle.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterQueueDTO {
+    private long queueDepth;
+    // Over the returned messages: the whole queue only when there are no more than the limit
+    private Map<String, Long> pageMessagesByReason;
+    private List<DeadLetterDTO> messages;
+}
@@ -0,0 +1,14 @@
+package com.freelance.lifecycle.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeadLetterReplayResultDTO {
+    private int replayed;
+    // Dead-lettered messages looked at but moved to the back of the queue because their reason did not match
+    private int skipped;
+}
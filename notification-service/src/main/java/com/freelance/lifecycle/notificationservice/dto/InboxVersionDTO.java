@@ -0,0 +1,19 @@
+package com.freelance.lifecycle.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Changes whenever one of the user's notifications is created, updated or deleted
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InboxVersionDTO {
+
+    private Long notificationCount;
+
+    // Latest created_at / updated_at of the user's notifications, null for an empty inbox
+    private LocalDateTime lastModified;
+}
@@ -0,0 +1,22 @@
+package com.freelance.lifecycle.notificationservice.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MarkAsReadRequestDTO {
+    @NotNull(message = "User ID is required")
+    private Long userId;
+
+    @NotEmpty(message = "At least one notification ID is required")
+    @Size(max = 1000, message = "At most 1000 notifications can be marked at once")
+    private List<@NotNull Long> notificationIds;
+}
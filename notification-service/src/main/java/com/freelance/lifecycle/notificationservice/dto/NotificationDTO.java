@@ -17,8 +17,8 @@ public class NotificationDTO {
     private String message;
     private Boolean isRead;
     private NotificationType type;
+    private String groupKey;
+    private Integer itemCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
-
-   
 }
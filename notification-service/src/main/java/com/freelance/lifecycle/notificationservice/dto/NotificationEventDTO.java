@@ -3,14 +3,20 @@ package com.freelance.lifecycle.notificationservice.dto;
 import com.freelance.lifecycle.notificationservice.model.NotificationType;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.UUID;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class NotificationEventDTO {
+    // Assigned by the producer and kept across redeliveries; optional for producers that predate it
+    private UUID eventId;
+
     @NotNull(message = "User ID is required")
     private Long userId;
 
@@ -19,4 +25,8 @@ public class NotificationEventDTO {
 
     @NotNull(message = "Notification type is required")
     private NotificationType type;
+
+    // Events of a coalesced type with the same user, type and groupKey share a digest
+    @Size(max = 255, message = "Group key must not exceed 255 characters")
+    private String groupKey;
 }
@@ -0,0 +1,53 @@
+package com.freelance.lifecycle.notificationservice.dto;
+
+import com.freelance.lifecycle.notificationservice.exception.InvalidCursorException;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Position in a user's inbox ordered by last change, {@code coalesce(updated_at, created_at)}, then
+ * id. Used as the {@code since} cursor and as the notification stream's event id; clients only ever
+ * see the encoded form.
+ */
+@Data
+@AllArgsConstructor
+public class SyncCursor implements Comparable<SyncCursor> {
+
+    private LocalDateTime changedAt;
+    private Long id;
+
+    public static SyncCursor of(NotificationDTO notification) {
+        LocalDateTime changedAt = notification.getUpdatedAt() != null ? notification.getUpdatedAt() : notification.getCreatedAt();
+        // The columns keep microseconds; a finer in-memory timestamp must not sort past the stored row
+        return new SyncCursor(changedAt.truncatedTo(ChronoUnit.MICROS), notification.getId());
+    }
+
+    @Override
+    public int compareTo(SyncCursor other) {
+        int byTime = changedAt.compareTo(other.changedAt);
+        return byTime != 0 ? byTime : Long.compare(id, other.id);
+    }
+
+    public String encode() {
+        String raw = changedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SyncCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new SyncCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
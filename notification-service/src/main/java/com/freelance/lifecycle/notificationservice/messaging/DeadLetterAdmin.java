@@ -0,0 +1,168 @@
+package com.freelance.lifecycle.notificationservice.messaging;
+
+import com.freelance.lifecycle.notificationservice.config.RabbitMQConfig;
+import com.freelance.lifecycle.notificationservice.dto.DeadLetterDTO;
+import com.freelance.lifecycle.notificationservice.dto.DeadLetterQueueDTO;
+import com.freelance.lifecycle.notificationservice.dto.DeadLetterReplayResultDTO;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.GetResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+/**
+ * Inspects and replays the dead-letter queue. Messages are fetched with basic.get on a transacted
+ * channel and stay unacknowledged while it is open, so a page never returns the same message twice
+ * and a peeked page goes back to the queue in its original order. Replaying publishes a message to
+ * the main queue, or with sharding to the sharded exchange keyed by its userId, and acknowledges it
+ * in the same transaction: it either moves or stays. A filtered replay looks at no more than
+ * {@code maxScan} messages and moves the ones it skips to the back of the queue, so the next call
+ * carries on where it stopped instead of scanning them again.
+ */
+@Component
+@Slf4j
+public class DeadLetterAdmin {
+
+    private static final List<String> FAILURE_HEADERS = List.of(
+            FailedMessageRouter.RETRY_COUNT_HEADER, FailedMessageRouter.FAILURE_REASON_HEADER,
+            FailedMessageRouter.FAILURE_DETAIL_HEADER, FailedMessageRouter.FAILED_AT_HEADER);
+
+    private static final String UNKNOWN_REASON = "UNKNOWN";
+
+    private final ConnectionFactory connectionFactory;
+    private final Counter replayedCounter;
+    private final boolean sharded;
+
+    public DeadLetterAdmin(ConnectionFactory connectionFactory, MeterRegistry meterRegistry,
+                           @Value("${notifications.sharding.enabled:false}") boolean sharded) {
+        this.connectionFactory = connectionFactory;
+        this.sharded = sharded;
+        this.replayedCounter = Counter.builder("notifications.dead-letters.replayed")
+                .description("Dead-lettered notification events sent back to be consumed again")
+                .register(meterRegistry);
+    }
+
+    public DeadLetterQueueDTO peek(int limit) {
+        return withChannel(channel -> {
+            long queueDepth = channel.messageCount(RabbitMQConfig.DEAD_LETTER_QUEUE);
+            List<DeadLetterDTO> messages = new ArrayList<>();
+            long lastTag = -1;
+            try {
+                GetResponse response;
+                while (messages.size() < limit
+                        && (response = channel.basicGet(RabbitMQConfig.DEAD_LETTER_QUEUE, false)) != null) {
+                    lastTag = response.getEnvelope().getDeliveryTag();
+                    messages.add(toDeadLetter(response));
+                }
+            } finally {
+                requeueUpTo(channel, lastTag);
+            }
+            // Over this page only; counting the whole queue would mean fetching all of it
+            Map<String, Long> byReason = messages.stream().collect(Collectors.groupingBy(
+                    message -> message.getReason() != null ? message.getReason() : UNKNOWN_REASON,
+                    TreeMap::new, Collectors.counting()));
+            return new DeadLetterQueueDTO(queueDepth, byReason, messages);
+        });
+    }
+
+    // reason null replays regardless of why the message was dead-lettered
+    public DeadLetterReplayResultDTO replay(int limit, FailedMessageRouter.Reason reason, int maxScan) {
+        return withChannel(channel -> {
+            int replayed = 0;
+            int skipped = 0;
+            // Every fetched message is acknowledged before the next one is fetched; nacking a tag that
+            // was already acknowledged would close the channel, so only a message left half-way is requeued
+            long unsettledTag = -1;
+            try {
+                GetResponse response;
+                while (replayed < limit && replayed + skipped < maxScan
+                        && (response = channel.basicGet(RabbitMQConfig.DEAD_LETTER_QUEUE, false)) != null) {
+                    unsettledTag = response.getEnvelope().getDeliveryTag();
+                    if (reason != null && !reason.name().equals(header(response, FailedMessageRouter.FAILURE_REASON_HEADER))) {
+                        // Published in the transaction, so this call cannot fetch it again
+                        channel.basicPublish("", RabbitMQConfig.DEAD_LETTER_QUEUE, response.getProps(), response.getBody());
+                        skipped++;
+                    } else {
+                        // Back with a clean slate: a full set of retries and no stale failure headers
+                        if (sharded) {
+                            channel.basicPublish(RabbitMQConfig.SHARDED_EXCHANGE, FailedMessageRouter.shardKey(response.getBody()),
+                                    withoutFailureHeaders(response.getProps()), response.getBody());
+                        } else {
+                            channel.basicPublish("", RabbitMQConfig.NOTIFICATIONS_QUEUE, withoutFailureHeaders(response.getProps()),
+                                    response.getBody());
+                        }
+                        replayed++;
+                    }
+                    channel.basicAck(unsettledTag, false);
+                    unsettledTag = -1;
+                }
+            } finally {
+                requeueUpTo(channel, unsettledTag);
+            }
+            replayedCounter.increment(replayed);
+            log.info("Replayed {} dead-lettered notification events ({} skipped, reason {})", replayed, skipped, reason);
+            return new DeadLetterReplayResultDTO(replayed, skipped);
+        });
+    }
+
+    private interface ChannelWork<T> {
+        T doWith(Channel channel) throws IOException;
+    }
+
+    private <T> T withChannel(ChannelWork<T> work) {
+        try (Connection connection = connectionFactory.createConnection();
+             Channel channel = connection.createChannel(true)) {
+            return work.doWith(channel);
+        } catch (IOException | TimeoutException e) {
+            throw new IllegalStateException("Dead-letter queue unavailable: " + e.getMessage(), e);
+        }
+    }
+
+    // Returns every message still unacknowledged on the channel and commits what was replayed
+    private static void requeueUpTo(Channel channel, long lastTag) throws IOException {
+        if (lastTag >= 0) {
+            channel.basicNack(lastTag, true, true);
+        }
+        channel.txCommit();
+    }
+
+    private static DeadLetterDTO toDeadLetter(GetResponse response) {
+        Object retryCount = response.getProps().getHeaders() == null ? null
+                : response.getProps().getHeaders().get(FailedMessageRouter.RETRY_COUNT_HEADER);
+        return new DeadLetterDTO(
+                response.getProps().getMessageId(),
+                header(response, FailedMessageRouter.FAILURE_REASON_HEADER),
+                header(response, FailedMessageRouter.FAILURE_DETAIL_HEADER),
+                retryCount instanceof Number number ? number.intValue() : 0,
+                header(response, FailedMessageRouter.FAILED_AT_HEADER),
+                new String(response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    // The client hands string headers back as LongString
+    private static String header(GetResponse response, String name) {
+        Map<String, Object> headers = response.getProps().getHeaders();
+        Object value = headers == null ? null : headers.get(name);
+        return value == null ? null : value.toString();
+    }
+
+    private static AMQP.BasicProperties withoutFailureHeaders(AMQP.BasicProperties properties) {
+        Map<String, Object> headers = properties.getHeaders() == null ? new HashMap<>() : new HashMap<>(properties.getHeaders());
+        FAILURE_HEADERS.forEach(headers::remove);
+        return properties.builder().headers(headers).build();
+    }
+}
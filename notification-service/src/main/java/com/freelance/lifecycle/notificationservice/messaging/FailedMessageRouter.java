@@ -0,0 +1,124 @@
+package com.freelance.lifecycle.notificationservice.messaging;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.freelance.lifecycle.notificationservice.config.RabbitMQConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends a notification event that could not be processed either to the delay queue of its next
+ * attempt (see {@link RetrySchedule}) or to the dead-letter queue, recording why in the message
+ * headers. Callers acknowledge the original delivery only after this returns, so a failure to
+ * publish (an {@link org.springframework.amqp.AmqpException}) still leaves the event on the broker.
+ * With sharding, retries are published with the event's userId as routing key so they come back
+ * to the same shard.
+ */
+@Component
+@Slf4j
+public class FailedMessageRouter {
+
+    public static final String RETRY_COUNT_HEADER = "x-retry-count";
+    public static final String FAILURE_REASON_HEADER = "x-failure-reason";
+    public static final String FAILURE_DETAIL_HEADER = "x-failure-detail";
+    public static final String FAILED_AT_HEADER = "x-failed-at";
+
+    private static final int MAX_DETAIL_LENGTH = 500;
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    public enum Reason {
+        // Not JSON, or not a NotificationEventDTO
+        UNREADABLE,
+        // Fails bean validation
+        INVALID,
+        // Kept failing to persist through every retry
+        RETRIES_EXHAUSTED
+    }
+
+    private final RabbitTemplate rabbitTemplate;
+    private final List<Long> retryDelaysMs;
+    private final boolean sharded;
+    private final Counter retried;
+    private final Map<Reason, Counter> deadLettered = new EnumMap<>(Reason.class);
+
+    public FailedMessageRouter(RabbitTemplate rabbitTemplate, RetrySchedule retrySchedule, MeterRegistry meterRegistry,
+                               @Value("${notifications.sharding.enabled:false}") boolean sharded) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.retryDelaysMs = retrySchedule.delaysMs();
+        this.sharded = sharded;
+        this.retried = Counter.builder("notifications.consumer.retries")
+                .description("Failed notification events scheduled for another attempt")
+                .register(meterRegistry);
+        for (Reason reason : Reason.values()) {
+            deadLettered.put(reason, Counter.builder("notifications.consumer.dead-lettered")
+                    .description("Notification events moved to the dead-letter queue, by failure reason")
+                    .tag("reason", reason.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    public void retryOrDeadLetter(Message message, Exception cause) {
+        int attempt = retryCount(message);
+        if (attempt >= retryDelaysMs.size()) {
+            deadLetter(message, Reason.RETRIES_EXHAUSTED, cause.toString());
+            return;
+        }
+        long delayMs = retryDelaysMs.get(attempt);
+        MessageProperties properties = message.getMessageProperties();
+        properties.setHeader(RETRY_COUNT_HEADER, attempt + 1);
+        properties.setHeader(FAILURE_DETAIL_HEADER, truncate(cause.toString()));
+        if (sharded) {
+            rabbitTemplate.send(RetrySchedule.shardedRetryQueueName(delayMs), shardKey(message.getBody()), message);
+        } else {
+            rabbitTemplate.send("", RetrySchedule.retryQueueName(delayMs), message);
+        }
+        retried.increment();
+        log.warn("Notification event {} failed (attempt {}), retrying in {} ms: {}",
+                properties.getMessageId(), attempt + 1, delayMs, cause.getMessage());
+    }
+
+    public void deadLetter(Message message, Reason reason, String detail) {
+        MessageProperties properties = message.getMessageProperties();
+        properties.setHeader(FAILURE_REASON_HEADER, reason.name());
+        properties.setHeader(FAILURE_DETAIL_HEADER, truncate(detail));
+        properties.setHeader(FAILED_AT_HEADER, Instant.now().toString());
+        rabbitTemplate.send("", RabbitMQConfig.DEAD_LETTER_QUEUE, message);
+        deadLettered.get(reason).increment();
+        log.error("Notification event {} dead-lettered ({}): {}", properties.getMessageId(), reason, detail);
+    }
+
+    static int retryCount(Message message) {
+        Object count = message.getMessageProperties().getHeader(RETRY_COUNT_HEADER);
+        return count instanceof Number number ? number.intValue() : 0;
+    }
+
+    // The routing key application-service publishes to the sharded exchange with: the event's userId.
+    // Unreadable bodies get an empty key; they are dead-lettered again wherever they land
+    static String shardKey(byte[] body) {
+        try {
+            JsonNode userId = JSON.readTree(body).path("userId");
+            return userId.isValueNode() ? userId.asText() : "";
+        } catch (IOException e) {
+            return "";
+        }
+    }
+
+    private static String truncate(String detail) {
+        if (detail == null) {
+            return null;
+        }
+        return detail.length() <= MAX_DETAIL_LENGTH ? detail : detail.substring(0, MAX_DETAIL_LENGTH);
+    }
+}
@@ -1,58 +1,203 @@
 package com.freelance.lifecycle.notificationservice.messaging;
 
+import com.freelance.lifecycle.notificationservice.config.RabbitMQConfig;
 import com.freelance.lifecycle.notificationservice.dto.NotificationEventDTO;
 import com.freelance.lifecycle.notificationservice.service.NotificationService;
-import jakarta.validation.Valid;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.amqp.AmqpException;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.rabbit.listener.api.RabbitListenerErrorHandler;
 import org.springframework.amqp.rabbit.support.ListenerExecutionFailedException;
+import org.springframework.amqp.support.converter.MessageConversionException;
+import org.springframework.amqp.support.converter.MessageConverter;
 import org.springframework.stereotype.Component;
-import org.springframework.validation.annotation.Validated;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Batch listener: each call receives up to {@code notifications.consumer.batch-size} messages
+ * and settles every delivery explicitly. Unreadable and invalid messages go straight to the
+ * dead-letter queue, valid ones are stored with a single insert batch and acknowledged together.
+ * If that batch fails, messages are retried one by one and the ones that still fail are handed
+ * to {@link FailedMessageRouter}, which schedules a delayed retry instead of requeueing them
+ * for immediate redelivery.
+ */
 @Component
-@Validated
 public class NotificationEventConsumer {
 
     private static final Logger log = LoggerFactory.getLogger(NotificationEventConsumer.class);
     private final NotificationService notificationService;
+    private final MessageConverter messageConverter;
+    private final Validator validator;
+    private final FailedMessageRouter failedMessageRouter;
+
+    private final Timer batchDuration;
+    private final DistributionSummary batchSize;
+    private final Counter persisted;
+    private final Counter failed;
+    private final Counter requeued;
+    private final Counter fallbacks;
 
-    public NotificationEventConsumer(NotificationService notificationService) {
+    public NotificationEventConsumer(NotificationService notificationService,
+                                     MessageConverter messageConverter,
+                                     Validator validator,
+                                     FailedMessageRouter failedMessageRouter,
+                                     MeterRegistry meterRegistry) {
         this.notificationService = notificationService;
+        this.messageConverter = messageConverter;
+        this.validator = validator;
+        this.failedMessageRouter = failedMessageRouter;
+
+        this.batchDuration = Timer.builder("notifications.consumer.batch.duration")
+                .description("Time to validate, persist and acknowledge one batch")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("notifications.consumer.batch.size")
+                .description("Messages per delivered batch")
+                .register(meterRegistry);
+        // Stored, folded into a digest or recognised as a redelivery (see notifications.dedup.checks)
+        this.persisted = messages(meterRegistry, "persisted");
+        // Sent to a retry queue or the dead-letter queue
+        this.failed = messages(meterRegistry, "failed");
+        // Could not even be routed; redelivered by the broker
+        this.requeued = messages(meterRegistry, "requeued");
+        this.fallbacks = Counter.builder("notifications.consumer.batch.fallbacks")
+                .description("Batches whose grouped insert failed and were retried message by message")
+                .register(meterRegistry);
     }
 
-    @RabbitListener(queues = "notifications.queue", errorHandler = "rabbitListenerErrorHandler")
-    public void handleNotificationEvent(@Valid NotificationEventDTO eventDTO) {
+    @RabbitListener(queues = RabbitMQConfig.NOTIFICATIONS_QUEUE, errorHandler = "rabbitListenerErrorHandler")
+    public void handleNotificationEvents(List<Message> messages, Channel channel) throws IOException {
+        Timer.Sample sample = Timer.start();
+        batchSize.record(messages.size());
+
+        List<Message> accepted = new ArrayList<>(messages.size());
+        List<NotificationEventDTO> events = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            NotificationEventDTO event = toValidEvent(message, channel);
+            if (event != null) {
+                accepted.add(message);
+                events.add(event);
+            }
+        }
+
+        if (!events.isEmpty()) {
+            try {
+                notificationService.createNotifications(events);
+                // One frame acknowledges every accepted delivery up to the last one;
+                // failed deliveries are already settled
+                channel.basicAck(deliveryTag(accepted.get(accepted.size() - 1)), true);
+                persisted.increment(events.size());
+            } catch (RuntimeException e) {
+                log.warn("Batch of {} notifications failed, retrying individually: {}", events.size(), e.getMessage());
+                fallbacks.increment();
+                persistIndividually(accepted, events, channel);
+            }
+        }
+
+        sample.stop(batchDuration);
+        log.debug("Processed batch of {} notification events ({} valid)", messages.size(), events.size());
+    }
+
+    private void persistIndividually(List<Message> accepted, List<NotificationEventDTO> events, Channel channel)
+            throws IOException {
+        for (int i = 0; i < events.size(); i++) {
+            long deliveryTag = deliveryTag(accepted.get(i));
+            try {
+                notificationService.createNotification(events.get(i));
+                channel.basicAck(deliveryTag, false);
+                persisted.increment();
+            } catch (RuntimeException e) {
+                log.error("Error processing notification event for user {}: {}",
+                        events.get(i).getUserId(), e.getMessage(), e);
+                Message message = accepted.get(i);
+                settleFailed(message, channel, () -> failedMessageRouter.retryOrDeadLetter(message, e));
+            }
+        }
+    }
+
+    // Returns null for a message that was dead-lettered; redelivering it would fail the same way
+    private NotificationEventDTO toValidEvent(Message message, Channel channel) throws IOException {
+        NotificationEventDTO event;
         try {
-            log.info("Received notification event for user {} with type {}",
-                    eventDTO.getUserId(), eventDTO.getType());
+            message.getMessageProperties().setInferredArgumentType(NotificationEventDTO.class);
+            event = (NotificationEventDTO) messageConverter.fromMessage(message);
+        } catch (MessageConversionException | ClassCastException e) {
+            settleFailed(message, channel, () -> failedMessageRouter.deadLetter(
+                    message, FailedMessageRouter.Reason.UNREADABLE, e.getMessage()));
+            return null;
+        }
 
-            notificationService.createNotification(eventDTO);
+        Set<ConstraintViolation<NotificationEventDTO>> violations = validator.validate(event);
+        if (!violations.isEmpty()) {
+            ConstraintViolation<NotificationEventDTO> violation = violations.iterator().next();
+            settleFailed(message, channel, () -> failedMessageRouter.deadLetter(
+                    message, FailedMessageRouter.Reason.INVALID, violation.getPropertyPath() + ": " + violation.getMessage()));
+            return null;
+        }
+        return event;
+    }
 
-            log.info("Successfully processed notification event for user {}", eventDTO.getUserId());
-        } catch (Exception e) {
-            log.error("Error processing notification event for user {}: {}",
-                    eventDTO.getUserId(), e.getMessage(), e);
-            throw new RuntimeException("Failed to process notification event", e);
+    // The delivery is acknowledged once its copy is on a retry or dead-letter queue; if that publish
+    // fails it is requeued, so an event is never lost
+    private void settleFailed(Message message, Channel channel, Runnable route) throws IOException {
+        try {
+            route.run();
+            channel.basicAck(deliveryTag(message), false);
+            failed.increment();
+        } catch (AmqpException e) {
+            log.error("Could not route failed notification event {}, requeueing: {}",
+                    message.getMessageProperties().getMessageId(), e.getMessage());
+            channel.basicNack(deliveryTag(message), false, true);
+            requeued.increment();
         }
     }
 
+    private static long deliveryTag(Message message) {
+        return message.getMessageProperties().getDeliveryTag();
+    }
+
+    private static Counter messages(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("notifications.consumer.messages")
+                .description("Consumed notification events by outcome; the persisted rate is the consumer throughput")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
     @Component("rabbitListenerErrorHandler")
     public static class RabbitListenerErrorHandlerImpl implements RabbitListenerErrorHandler {
 
         private static final Logger log = LoggerFactory.getLogger(RabbitListenerErrorHandlerImpl.class);
 
         @Override
-        public Object handleError(Message amqpMessage,
-                                org.springframework.messaging.Message<?> message,
-                                org.springframework.amqp.rabbit.support.ListenerExecutionFailedException exception) {
+        public Object handleError(Message amqpMessage, Channel channel,
+                                  org.springframework.messaging.Message<?> message,
+                                  org.springframework.amqp.rabbit.support.ListenerExecutionFailedException exception) {
+            // Only channel failures get here: failed events are routed to the retry and dead-letter
+            // queues by the listener itself, and deliveries left unsettled on a broken channel are
+            // redelivered by the broker once it closes
             log.error("RabbitMQ listener error: {}", exception.getMessage(), exception);
-
-            // Aquí podrías enviar el mensaje a una Dead Letter Queue (DLQ)
-            // o implementar lógica de reintento.
             return null;
         }
+
+        // Still abstract in this Spring AMQP version, though the container only calls the variant above
+        @Override
+        @SuppressWarnings("removal")
+        public Object handleError(Message amqpMessage,
+                                  org.springframework.messaging.Message<?> message,
+                                  org.springframework.amqp.rabbit.support.ListenerExecutionFailedException exception) {
+            return handleError(amqpMessage, null, message, exception);
+        }
     }
 }
@@ -0,0 +1,46 @@
+package com.freelance.lifecycle.notificationservice.messaging;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Exponential delays between attempts of a failed notification event: initial, initial * multiplier, ...
+@Component
+public class RetrySchedule {
+
+    private static final String RETRY_QUEUE_PREFIX = "notifications.queue.retry.";
+    private static final String SHARDED_RETRY_QUEUE_PREFIX = "notifications.queue.retry.sharded.";
+
+    private final List<Long> delaysMs;
+
+    public RetrySchedule(@Value("${notifications.retry.initial-delay-ms:1000}") long initialDelayMs,
+                         @Value("${notifications.retry.multiplier:5}") double multiplier,
+                         @Value("${notifications.retry.max-attempts:4}") int maxAttempts) {
+        List<Long> delays = new ArrayList<>(maxAttempts);
+        double delay = initialDelayMs;
+        for (int attempt = 0; attempt < maxAttempts; attempt++) {
+            delays.add(Math.round(delay));
+            delay *= multiplier;
+        }
+        this.delaysMs = Collections.unmodifiableList(delays);
+    }
+
+    public List<Long> delaysMs() {
+        return delaysMs;
+    }
+
+    // Retry queues are named after their TTL, so a changed schedule declares new queues instead of
+    // clashing with the arguments of existing ones
+    public static String retryQueueName(long delayMs) {
+        return RETRY_QUEUE_PREFIX + delayMs + "ms";
+    }
+
+    // Dead-letters to the sharded exchange instead of the main queue, hence the separate name; each
+    // has a fanout exchange of the same name in front so a retry keeps its userId routing key
+    public static String shardedRetryQueueName(long delayMs) {
+        return SHARDED_RETRY_QUEUE_PREFIX + delayMs + "ms";
+    }
+}
@@ -0,0 +1,55 @@
+package com.freelance.lifecycle.notificationservice.messaging;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Rendezvous (highest random weight) assignment of shards to nodes: each shard belongs to the
+ * live node with the highest weight for it. Every node computes the same answer from the same
+ * node list without coordinating, and a node joining or leaving only moves the shards it gains
+ * or loses.
+ */
+public final class ShardAssignment {
+
+    private ShardAssignment() {
+    }
+
+    public static Set<Integer> ownedShards(String nodeId, Collection<String> liveNodes, int shards) {
+        Set<Integer> owned = new TreeSet<>();
+        for (int shard = 0; shard < shards; shard++) {
+            if (nodeId.equals(owner(liveNodes, shard))) {
+                owned.add(shard);
+            }
+        }
+        return owned;
+    }
+
+    static String owner(Collection<String> liveNodes, int shard) {
+        String owner = null;
+        long ownerWeight = 0;
+        for (String node : liveNodes) {
+            long weight = weight(node, shard);
+            if (owner == null || Long.compareUnsigned(weight, ownerWeight) > 0
+                    || (weight == ownerWeight && node.compareTo(owner) < 0)) {
+                owner = node;
+                ownerWeight = weight;
+            }
+        }
+        return owner;
+    }
+
+    // FNV-1a over the node id and shard, finished with the SplitMix64 mixer so that similar
+    // node ids (host-1, host-2) still get unrelated weights
+    private static long weight(String nodeId, int shard) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : nodeId.getBytes(StandardCharsets.UTF_8)) {
+            hash = (hash ^ b) * 0x100000001b3L;
+        }
+        hash = (hash ^ shard) * 0x100000001b3L;
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+}
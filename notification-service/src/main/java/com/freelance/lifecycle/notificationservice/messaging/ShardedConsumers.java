@@ -0,0 +1,159 @@
+package com.freelance.lifecycle.notificationservice.messaging;
+
+import com.freelance.lifecycle.notificationservice.config.RabbitMQConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.AmqpIOException;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerEndpoint;
+import org.springframework.amqp.rabbit.listener.SimpleMessageListenerContainer;
+import org.springframework.amqp.rabbit.listener.api.ChannelAwareBatchMessageListener;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Consumes the shard queues this instance owns. Every instance refreshes a heartbeat row in
+ * {@code notification_nodes}; on each heartbeat it reads the live instances, computes its shards
+ * with {@link ShardAssignment} and starts or stops one single-consumer batch container per shard,
+ * so ownership rebalances within a heartbeat or two of an instance joining and within
+ * {@code node-timeout-ms} of one disappearing (immediately on a clean shutdown). Shard queues are
+ * single-active-consumer, so while two instances briefly both subscribe to a shard during a
+ * handover only one of them receives its messages, in order.
+ */
+@Component
+@Slf4j
+public class ShardedConsumers {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SimpleRabbitListenerContainerFactory containerFactory;
+    private final NotificationEventConsumer notificationEventConsumer;
+    private final boolean enabled;
+    private final int shards;
+    private final long nodeTimeoutMs;
+    private final String nodeId;
+    private final Map<Integer, SimpleMessageListenerContainer> containers = new ConcurrentHashMap<>();
+    private final Counter rebalances;
+
+    public ShardedConsumers(JdbcTemplate jdbcTemplate,
+                            SimpleRabbitListenerContainerFactory rabbitListenerContainerFactory,
+                            NotificationEventConsumer notificationEventConsumer,
+                            MeterRegistry meterRegistry,
+                            @Value("${notifications.sharding.enabled:false}") boolean enabled,
+                            @Value("${notifications.sharding.shards:16}") int shards,
+                            @Value("${notifications.sharding.node-timeout-ms:15000}") long nodeTimeoutMs,
+                            @Value("${notifications.sharding.node-id:}") String nodeId) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.containerFactory = rabbitListenerContainerFactory;
+        this.notificationEventConsumer = notificationEventConsumer;
+        this.enabled = enabled;
+        this.shards = shards;
+        this.nodeTimeoutMs = nodeTimeoutMs;
+        this.nodeId = nodeId.isBlank() ? defaultNodeId() : nodeId;
+
+        Gauge.builder("notifications.sharding.owned-shards", containers, Map::size)
+                .description("Shard queues consumed by this instance")
+                .register(meterRegistry);
+        this.rebalances = Counter.builder("notifications.sharding.rebalances")
+                .description("Heartbeats that changed the shards owned by this instance")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.sharding.heartbeat-interval-ms:5000}")
+    public synchronized void heartbeat() {
+        if (!enabled) {
+            return;
+        }
+        List<String> liveNodes;
+        try {
+            jdbcTemplate.update("INSERT INTO notification_nodes (node_id, heartbeat_at) VALUES (?, now())"
+                    + " ON CONFLICT (node_id) DO UPDATE SET heartbeat_at = now()", nodeId);
+            // Database time on both sides, so clock skew between instances does not matter
+            liveNodes = jdbcTemplate.queryForList("SELECT node_id FROM notification_nodes"
+                    + " WHERE heartbeat_at > now() - make_interval(secs => ?)", String.class, nodeTimeoutMs / 1000.0);
+            jdbcTemplate.update("DELETE FROM notification_nodes"
+                    + " WHERE heartbeat_at < now() - make_interval(secs => ?)", nodeTimeoutMs * 10 / 1000.0);
+        } catch (DataAccessException e) {
+            // Keep consuming what we own; if this lasts, other instances take over our shards
+            log.warn("Notification node heartbeat failed, keeping {} shards: {}", containers.size(), e.getMessage());
+            return;
+        }
+        rebalance(ShardAssignment.ownedShards(nodeId, liveNodes, shards), liveNodes.size());
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (!enabled) {
+            return;
+        }
+        new ArrayList<>(containers.keySet()).forEach(this::stop);
+        try {
+            // Lets the other instances take over on their next heartbeat instead of after the timeout
+            jdbcTemplate.update("DELETE FROM notification_nodes WHERE node_id = ?", nodeId);
+        } catch (DataAccessException e) {
+            log.warn("Could not deregister notification node {}: {}", nodeId, e.getMessage());
+        }
+    }
+
+    private void rebalance(Set<Integer> owned, int liveNodes) {
+        if (owned.equals(containers.keySet())) {
+            return;
+        }
+        new ArrayList<>(containers.keySet()).stream().filter(shard -> !owned.contains(shard)).forEach(this::stop);
+        owned.stream().filter(shard -> !containers.containsKey(shard)).forEach(this::start);
+        rebalances.increment();
+        log.info("Node {} now consumes shards {} ({} live nodes)", nodeId, owned, liveNodes);
+    }
+
+    private void start(int shard) {
+        SimpleRabbitListenerEndpoint endpoint = new SimpleRabbitListenerEndpoint();
+        endpoint.setId("notification-shard-" + shard);
+        endpoint.setQueueNames(RabbitMQConfig.shardQueueName(shard));
+        // One consumer per shard keeps each user's events in publish order
+        endpoint.setConcurrency("1");
+        endpoint.setMessageListener((ChannelAwareBatchMessageListener) (messages, channel) -> {
+            try {
+                notificationEventConsumer.handleNotificationEvents(messages, channel);
+            } catch (IOException e) {
+                throw new AmqpIOException(e);
+            }
+        });
+        SimpleMessageListenerContainer container = containerFactory.createListenerContainer(endpoint);
+        container.start();
+        containers.put(shard, container);
+    }
+
+    private void stop(int shard) {
+        SimpleMessageListenerContainer container = containers.remove(shard);
+        if (container != null) {
+            // Waits for the batch in progress to be settled before cancelling the consumer
+            container.stop();
+            container.destroy();
+        }
+    }
+
+    private static String defaultNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            host = "node";
+        }
+        return host + "-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+}
@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence so batched inserts do not need a round trip per generated id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "notifications_seq")
+    @SequenceGenerator(name = "notifications_seq", sequenceName = "notifications_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "user_id", nullable = false)
@@ -31,6 +33,18 @@ public class Notification {
     @Column(name = "type", nullable = false)
     private NotificationType type;
 
+    // Set on digests only (see NotificationCoalescer)
+    @Column(name = "group_key")
+    private String groupKey;
+
+    // Events this notification stands for; more than 1 for a digest
+    @Column(name = "item_count", nullable = false)
+    private Integer itemCount = 1;
+
+    // Digests only: when the first event of the digest's window arrived
+    @Column(name = "window_started_at")
+    private LocalDateTime windowStartedAt;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt = LocalDateTime.now();
 
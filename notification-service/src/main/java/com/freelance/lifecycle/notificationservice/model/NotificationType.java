@@ -3,6 +3,7 @@ package com.freelance.lifecycle.notificationservice.model;
 public enum NotificationType {
     NEW_APPLICATION,
     APPLICATION_ACCEPTED,
+    APPLICATION_REJECTED,
     NEW_MESSAGE,
     PROJECT_COMPLETED
 }
@@ -0,0 +1,26 @@
+package com.freelance.lifecycle.notificationservice.repository;
+
+import com.freelance.lifecycle.notificationservice.dto.NotificationDTO;
+import com.freelance.lifecycle.notificationservice.model.ArchivedNotification;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ArchivedNotificationRepository extends JpaRepository<ArchivedNotification, Long> {
+
+    // Archived notifications are always read
+    String SELECT_DTO = "SELECT new com.freelance.lifecycle.notificationservice.dto.NotificationDTO("
+            + "a.id, a.userId, a.message, true, a.type, CAST(NULL AS String), a.itemCount, a.createdAt, a.updatedAt)"
+            + " FROM ArchivedNotification a";
+
+    @Query(SELECT_DTO + " WHERE a.userId = :userId ORDER BY a.createdAt DESC, a.id DESC")
+    List<NotificationDTO> findDTOsByUserId(@Param("userId") Long userId);
+
+    @Query(SELECT_DTO + " WHERE a.userId = :userId ORDER BY a.createdAt DESC, a.id DESC")
+    List<NotificationDTO> findDTOsByUserId(@Param("userId") Long userId, Pageable pageable);
+}
@@ -1,17 +1,115 @@
 package com.freelance.lifecycle.notificationservice.repository;
 
+import com.freelance.lifecycle.notificationservice.dto.InboxVersionDTO;
+import com.freelance.lifecycle.notificationservice.dto.NotificationDTO;
 import com.freelance.lifecycle.notificationservice.model.Notification;
+import com.freelance.lifecycle.notificationservice.model.NotificationType;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
+    // Read-only queries select straight into NotificationDTO, skipping entity hydration,
+    // persistence context registration and dirty-checking snapshots.
+    String SELECT_DTO = "SELECT new com.freelance.lifecycle.notificationservice.dto.NotificationDTO("
+            + "n.id, n.userId, n.message, n.isRead, n.type, n.groupKey, n.itemCount, n.createdAt, n.updatedAt)"
+            + " FROM Notification n";
+
+    // Outside history mode listings cover the hot window plus every notification still unread, so they
+    // show all the rows the unread count includes. The createdAt bound lets PostgreSQL prune the older
+    // partitions from the first branch; the second only reaches them through idx_notifications_user_unread.
+    String LISTED = " AND (n.createdAt >= :createdFrom OR n.isRead = false)";
+
     List<Notification> findByUserIdOrderByCreatedAtDesc(Long userId);
 
     List<Notification> findByUserIdAndIsReadOrderByCreatedAtDesc(Long userId, Boolean isRead);
 
     Long countByUserIdAndIsRead(Long userId, Boolean isRead);
+
+    @Query(SELECT_DTO + " WHERE n.userId = :userId" + LISTED + " ORDER BY n.createdAt DESC")
+    List<NotificationDTO> findDTOsByUserId(@Param("userId") Long userId, @Param("createdFrom") LocalDateTime createdFrom);
+
+    @Query(SELECT_DTO + " WHERE n.userId = :userId AND n.isRead = :isRead ORDER BY n.createdAt DESC")
+    List<NotificationDTO> findDTOsByUserIdAndIsRead(@Param("userId") Long userId, @Param("isRead") Boolean isRead);
+
+    // Newest first, for a first page without a since cursor
+    @Query(SELECT_DTO + " WHERE n.userId = :userId" + LISTED + " ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationDTO> findDTOsByUserId(@Param("userId") Long userId, @Param("createdFrom") LocalDateTime createdFrom,
+                                           Pageable pageable);
+
+    // Incremental sync and stream replay (InboxSync): rows whose last change comes after the cursor,
+    // oldest change first. Both lower bounds are plain ranges on idx_notifications_user_changed; the
+    // createdFrom one keeps old rows marked read within the hot window, which listings showed while unread
+    @Query(SELECT_DTO + " WHERE n.userId = :userId AND COALESCE(n.updatedAt, n.createdAt) >= :createdFrom"
+            + " AND COALESCE(n.updatedAt, n.createdAt) >= :changedAt"
+            + " AND (COALESCE(n.updatedAt, n.createdAt) > :changedAt OR n.id > :afterId)"
+            + " ORDER BY COALESCE(n.updatedAt, n.createdAt), n.id")
+    List<NotificationDTO> findDTOsChangedAfter(@Param("userId") Long userId, @Param("changedAt") LocalDateTime changedAt,
+                                               @Param("afterId") Long afterId, @Param("createdFrom") LocalDateTime createdFrom,
+                                               Pageable pageable);
+
+    // updated_at is never before created_at, so this is the user's latest change; the count catches deletions
+    @Query("SELECT new com.freelance.lifecycle.notificationservice.dto.InboxVersionDTO("
+            + "COUNT(n), MAX(COALESCE(n.updatedAt, n.createdAt)))"
+            + " FROM Notification n WHERE n.userId = :userId" + LISTED)
+    InboxVersionDTO findInboxVersion(@Param("userId") Long userId, @Param("createdFrom") LocalDateTime createdFrom);
+
+    // Set-based read receipts: one UPDATE touching only the owner's unread rows (the partial unread index)
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.updatedAt = :now"
+            + " WHERE n.userId = :userId AND n.isRead = false")
+    int markAllAsReadByUserId(@Param("userId") Long userId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true, n.updatedAt = :now"
+            + " WHERE n.userId = :userId AND n.id IN :ids AND n.isRead = false")
+    int markAsReadByUserIdAndIds(@Param("userId") Long userId, @Param("ids") Collection<Long> ids,
+                                 @Param("now") LocalDateTime now);
+
+    // Retention: moves one batch of old read notifications into notifications_archive in a single
+    // statement and transaction. SKIP LOCKED leaves rows being updated (and other instances) alone.
+    @Transactional
+    @Modifying
+    @Query(value = "WITH batch AS ("
+            + " SELECT id, created_at FROM notifications"
+            + " WHERE is_read = true AND created_at < :cutoff"
+            + " LIMIT :batchSize FOR UPDATE SKIP LOCKED),"
+            + " moved AS ("
+            + " DELETE FROM notifications n USING batch b"
+            + " WHERE n.id = b.id AND n.created_at = b.created_at"
+            + " RETURNING n.id, n.user_id, n.message, n.type, n.item_count, n.created_at, n.updated_at)"
+            + " INSERT INTO notifications_archive (id, user_id, message, type, item_count, created_at, updated_at, archived_at)"
+            + " SELECT id, user_id, message, type, item_count, created_at, updated_at, :archivedAt FROM moved",
+            nativeQuery = true)
+    int archiveReadBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize,
+                          @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Coalescing: the open digest of a group, if any. Served by the partial unread index; a digest is
+    // never created before its window started, so the same bound on createdAt prunes older partitions
+    @Query("SELECT n FROM Notification n WHERE n.userId = :userId AND n.type = :type"
+            + " AND n.groupKey = :groupKey AND n.isRead = false AND n.createdAt >= :windowStart"
+            + " AND COALESCE(n.windowStartedAt, n.createdAt) >= :windowStart"
+            + " ORDER BY n.createdAt DESC")
+    List<Notification> findOpenDigests(@Param("userId") Long userId, @Param("type") NotificationType type,
+                                       @Param("groupKey") String groupKey, @Param("windowStart") LocalDateTime windowStart,
+                                       Pageable pageable);
+
+    // Serializes digest updates of one group across consumers and instances until the transaction ends
+    @Query(value = "SELECT count(*) FROM (SELECT pg_advisory_xact_lock(:lockId)) l", nativeQuery = true)
+    long lockDigestGroup(@Param("lockId") long lockId);
+
+    // Unread counts for many users in one round trip; users without unread notifications are absent
+    @Query("SELECT n.userId, COUNT(n) FROM Notification n"
+            + " WHERE n.userId IN :userIds AND n.isRead = false GROUP BY n.userId")
+    List<Object[]> countUnreadByUserIds(@Param("userIds") Collection<Long> userIds);
 }
@@ -0,0 +1,81 @@
+package com.freelance.lifecycle.notificationservice.service;
+
+import com.freelance.lifecycle.notificationservice.dto.CursorPageDTO;
+import com.freelance.lifecycle.notificationservice.dto.NotificationDTO;
+import com.freelance.lifecycle.notificationservice.dto.SyncCursor;
+import com.freelance.lifecycle.notificationservice.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+/**
+ * Incremental sync of a user's inbox, shared by the {@code since} listing and the notification
+ * stream's replay. Rows are walked by last change and id (see {@link SyncCursor}), so a
+ * notification marked read after the client got it comes back with its new state.
+ *
+ * <p>Neither ids (handed out in blocks of 50 per instance) nor timestamps (taken before the insert)
+ * follow commit order: a row can become visible after a reader already passed its position. So a
+ * cursor never points past {@code now - lag-ms}; rows changed within the lag are sent again on the
+ * next sync, where a row that committed late is picked up too. The lag has to cover the longest
+ * write transaction plus the clock skew between instances. Clients de-duplicate by id, keeping the
+ * copy with the latest {@code updatedAt}.
+ */
+@Component
+public class InboxSync {
+
+    private final NotificationRepository notificationRepository;
+    private final long lagMs;
+
+    public InboxSync(NotificationRepository notificationRepository,
+                     @Value("${notifications.sync.lag-ms:5000}") long lagMs) {
+        this.notificationRepository = notificationRepository;
+        this.lagMs = lagMs;
+    }
+
+    /**
+     * Notifications changed after {@code since}, oldest change first, and the cursor to continue
+     * from. {@code hasMore} is only set while the page ends before the lag window: rows inside it
+     * come back on the next sync anyway.
+     */
+    public CursorPageDTO<NotificationDTO> changesAfter(Long userId, SyncCursor since, int pageSize,
+                                                       LocalDateTime createdFrom) {
+        // One extra row tells us whether another page exists
+        List<NotificationDTO> notifications = notificationRepository.findDTOsChangedAfter(
+                userId, since.getChangedAt(), since.getId(), createdFrom, PageRequest.ofSize(pageSize + 1));
+        boolean full = notifications.size() > pageSize;
+        List<NotificationDTO> page = full ? notifications.subList(0, pageSize) : notifications;
+        if (page.isEmpty()) {
+            return new CursorPageDTO<>(page, since.encode(), false);
+        }
+        SyncCursor last = SyncCursor.of(page.get(page.size() - 1));
+        SyncCursor horizon = horizon();
+        boolean settled = last.compareTo(horizon) <= 0;
+        return new CursorPageDTO<>(page, (settled ? last : horizon).encode(), full && settled);
+    }
+
+    /**
+     * Cursor for a client that has just loaded its inbox from scratch: whatever changes from now on,
+     * or committed late within the lag, comes after it.
+     */
+    public SyncCursor startCursor() {
+        return horizon();
+    }
+
+    /**
+     * Cursor for a client that received this notification: its position, held back to the lag
+     * window while the notification is recent.
+     */
+    public SyncCursor cursorAfter(NotificationDTO notification) {
+        SyncCursor position = SyncCursor.of(notification);
+        SyncCursor horizon = horizon();
+        return position.compareTo(horizon) <= 0 ? position : horizon;
+    }
+
+    private SyncCursor horizon() {
+        return new SyncCursor(LocalDateTime.now().minus(lagMs, ChronoUnit.MILLIS).truncatedTo(ChronoUnit.MICROS), 0L);
+    }
+}
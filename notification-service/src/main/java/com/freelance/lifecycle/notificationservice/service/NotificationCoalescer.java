@@ -0,0 +1,124 @@
+package com.freelance.lifecycle.notificationservice.service;
+
+import com.freelance.lifecycle.notificationservice.dto.NotificationEventDTO;
+import com.freelance.lifecycle.notificationservice.model.Notification;
+import com.freelance.lifecycle.notificationservice.model.NotificationType;
+import com.freelance.lifecycle.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Collapses bursts of events of the types listed in {@code notifications.coalescing.types} into
+ * digest notifications. Events of the same user, type and {@code groupKey} (the type itself when
+ * the producer sends none) that arrive while the group has an unread digest whose window started
+ * less than {@code window-ms} ago replace that digest with a new one carrying the latest message
+ * and the summed {@code itemCount}. The replacement gets a new id, so incremental sync and the
+ * stream deliver it like any new notification; clients drop the previous entry with the same
+ * {@code groupKey}. It keeps the window start of the digest it replaces, so a group that keeps
+ * receiving events still starts a new digest every {@code window-ms}.
+ * Must run inside the caller's transaction.
+ */
+@Component
+public class NotificationCoalescer {
+
+    private final NotificationRepository notificationRepository;
+    private final Set<NotificationType> types;
+    private final Duration window;
+    private final Counter coalesced;
+
+    public NotificationCoalescer(NotificationRepository notificationRepository,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${notifications.coalescing.types:}") Set<NotificationType> types,
+                                 @Value("${notifications.coalescing.window-ms:600000}") long windowMs) {
+        this.notificationRepository = notificationRepository;
+        this.types = types.isEmpty() ? EnumSet.noneOf(NotificationType.class) : EnumSet.copyOf(types);
+        this.window = Duration.ofMillis(windowMs);
+        this.coalesced = Counter.builder("notifications.coalescing.coalesced")
+                .description("Notification events folded into a digest instead of getting a row of their own")
+                .register(meterRegistry);
+    }
+
+    public boolean coalesces(NotificationType type) {
+        return types.contains(type);
+    }
+
+    /**
+     * Builds one digest per group of {@code events} (all of coalesced types) and deletes the open
+     * digests they replace. The returned notifications still have to be saved; {@code unreadDeltas}
+     * receives the net change of each user's unread count.
+     */
+    public List<Notification> coalesce(List<NotificationEventDTO> events, Map<Long, Long> unreadDeltas) {
+        Map<String, List<NotificationEventDTO>> groups = new HashMap<>();
+        for (NotificationEventDTO event : events) {
+            groups.computeIfAbsent(lockKey(event), key -> new ArrayList<>()).add(event);
+        }
+        // Sorted by the lock actually taken, so concurrent batches take the group locks in the same
+        // order even when two groups share a lock id
+        List<String> lockKeys = new ArrayList<>(groups.keySet());
+        lockKeys.sort(Comparator.comparingLong(NotificationCoalescer::lockId).thenComparing(Comparator.naturalOrder()));
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime windowStart = now.minus(window);
+        List<Notification> digests = new ArrayList<>(groups.size());
+        for (String lockKey : lockKeys) {
+            List<NotificationEventDTO> group = groups.get(lockKey);
+            NotificationEventDTO latest = group.get(group.size() - 1);
+            String groupKey = groupKey(latest);
+            notificationRepository.lockDigestGroup(lockId(lockKey));
+
+            int itemCount = group.size();
+            LocalDateTime windowStartedAt = now;
+            List<Notification> open = notificationRepository.findOpenDigests(
+                    latest.getUserId(), latest.getType(), groupKey, windowStart, PageRequest.ofSize(1));
+            if (open.isEmpty()) {
+                unreadDeltas.merge(latest.getUserId(), 1L, Long::sum);
+                coalesced.increment(group.size() - 1);
+            } else {
+                Notification replaced = open.get(0);
+                itemCount += replaced.getItemCount();
+                windowStartedAt = replaced.getWindowStartedAt() != null ? replaced.getWindowStartedAt() : replaced.getCreatedAt();
+                notificationRepository.delete(replaced);
+                coalesced.increment(group.size());
+            }
+
+            Notification digest = new Notification();
+            digest.setUserId(latest.getUserId());
+            digest.setMessage(latest.getMessage());
+            digest.setType(latest.getType());
+            digest.setGroupKey(groupKey);
+            digest.setItemCount(itemCount);
+            digest.setWindowStartedAt(windowStartedAt);
+            digest.setIsRead(false);
+            digests.add(digest);
+        }
+        return digests;
+    }
+
+    private static String groupKey(NotificationEventDTO event) {
+        return event.getGroupKey() != null ? event.getGroupKey() : event.getType().name();
+    }
+
+    private static String lockKey(NotificationEventDTO event) {
+        return event.getUserId() + ":" + event.getType() + ":" + groupKey(event);
+    }
+
+    // 64 bits of an MD5 of the key: the same on every instance, and collisions only serialize two groups
+    static long lockId(String lockKey) {
+        return UUID.nameUUIDFromBytes(lockKey.getBytes(StandardCharsets.UTF_8)).getMostSignificantBits();
+    }
+}
@@ -0,0 +1,206 @@
+package com.freelance.lifecycle.notificationservice.service;
+
+import com.freelance.lifecycle.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Maintains the monthly partitions of {@code notifications} (see V5__partition_notifications.sql).
+ * Partitions are created {@code months-ahead} months in advance. Read notifications older than
+ * {@code read-after-days} are moved to {@code notifications_archive} in batches of
+ * {@code batch-size}, each its own short transaction, and partitions left empty are dropped.
+ * In {@code drop} mode whole expired partitions are dropped instead, unread rows included.
+ * Event ids in {@code processed_events} are kept for {@code notifications.dedup.retention-days};
+ * a redelivery arriving later than that would be stored again.
+ * DDL runs with a {@code lock_timeout}, so a busy table makes the job give up until the next run
+ * rather than queue every query behind its lock.
+ */
+@Component
+@Slf4j
+public class NotificationRetentionJob {
+
+    private static final String PARTITION_PREFIX = "notifications_p";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    enum Mode { ARCHIVE, DROP }
+
+    private final NotificationRepository notificationRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int monthsAhead;
+    private final boolean enabled;
+    private final Mode mode;
+    private final int readAfterDays;
+    private final int batchSize;
+    private final int maxBatches;
+    private final long pauseMs;
+    private final long lockTimeoutMs;
+    private final int dedupRetentionDays;
+    private final Counter archived;
+    private final Counter dropped;
+
+    public NotificationRetentionJob(NotificationRepository notificationRepository,
+                                    JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${notifications.partitions.months-ahead:3}") int monthsAhead,
+                                    @Value("${notifications.retention.enabled:true}") boolean enabled,
+                                    @Value("${notifications.retention.mode:archive}") String mode,
+                                    @Value("${notifications.retention.read-after-days:180}") int readAfterDays,
+                                    @Value("${notifications.retention.batch-size:1000}") int batchSize,
+                                    @Value("${notifications.retention.max-batches:500}") int maxBatches,
+                                    @Value("${notifications.retention.pause-ms:100}") long pauseMs,
+                                    @Value("${notifications.retention.lock-timeout-ms:5000}") long lockTimeoutMs,
+                                    @Value("${notifications.dedup.retention-days:30}") int dedupRetentionDays) {
+        this.notificationRepository = notificationRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.monthsAhead = monthsAhead;
+        this.enabled = enabled;
+        this.mode = Mode.valueOf(mode.toUpperCase());
+        this.readAfterDays = readAfterDays;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.pauseMs = pauseMs;
+        this.lockTimeoutMs = lockTimeoutMs;
+        this.dedupRetentionDays = dedupRetentionDays;
+
+        this.archived = Counter.builder("notifications.retention.archived")
+                .description("Read notifications moved to notifications_archive")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("notifications.retention.partitions.dropped")
+                .description("Monthly notification partitions dropped")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        createUpcomingPartitions();
+    }
+
+    @Scheduled(cron = "${notifications.retention.cron:0 30 3 * * *}")
+    public void run() {
+        createUpcomingPartitions();
+        pruneProcessedEvents(LocalDate.now().minusDays(dedupRetentionDays).atStartOfDay());
+        if (!enabled) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDate.now().minusDays(readAfterDays).atStartOfDay();
+        if (mode == Mode.ARCHIVE) {
+            archiveReadBefore(cutoff);
+        }
+        dropExpiredPartitions(cutoff);
+    }
+
+    void createUpcomingPartitions() {
+        YearMonth current = YearMonth.now();
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            String partition = PARTITION_PREFIX + month.format(PARTITION_SUFFIX);
+            if (jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, partition)) {
+                continue;
+            }
+            withLockTimeout("create partition " + partition, () -> jdbcTemplate.execute(
+                    "CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF notifications"
+                            + " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')"));
+        }
+    }
+
+    void archiveReadBefore(LocalDateTime cutoff) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int moved = notificationRepository.archiveReadBefore(cutoff, batchSize, LocalDateTime.now());
+            total += moved;
+            archived.increment(moved);
+            if (moved < batchSize) {
+                break;
+            }
+            // Leaves room for regular traffic, replication and autovacuum between batches
+            if (!pause()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Archived {} read notifications created before {}", total, cutoff);
+        }
+    }
+
+    void pruneProcessedEvents(LocalDateTime cutoff) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int deleted = jdbcTemplate.update(
+                    "DELETE FROM processed_events WHERE event_id IN ("
+                            + "SELECT event_id FROM processed_events WHERE processed_at < ? LIMIT ?)",
+                    cutoff, batchSize);
+            total += deleted;
+            if (deleted < batchSize || !pause()) {
+                break;
+            }
+        }
+        if (total > 0) {
+            log.info("Pruned {} processed event ids older than {}", total, cutoff);
+        }
+    }
+
+    void dropExpiredPartitions(LocalDateTime cutoff) {
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid"
+                        + " WHERE i.inhparent = 'notifications'::regclass AND c.relname LIKE 'notifications\\_p%'"
+                        + " ORDER BY c.relname",
+                String.class);
+        for (String partition : partitions) {
+            YearMonth month = YearMonth.parse(partition.substring(PARTITION_PREFIX.length()), PARTITION_SUFFIX);
+            if (month.plusMonths(1).atDay(1).atStartOfDay().isAfter(cutoff)) {
+                break;
+            }
+            withLockTimeout("drop partition " + partition, () -> {
+                // In archive mode a partition still holding unread notifications is kept
+                if (mode == Mode.ARCHIVE && Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                        "SELECT EXISTS (SELECT 1 FROM " + partition + ")", Boolean.class))) {
+                    return;
+                }
+                jdbcTemplate.execute("ALTER TABLE notifications DETACH PARTITION " + partition);
+                jdbcTemplate.execute("DROP TABLE " + partition);
+                dropped.increment();
+                log.info("Dropped notification partition {}", partition);
+            });
+        }
+    }
+
+    private void withLockTimeout(String action, Runnable ddl) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeoutMs);
+                ddl.run();
+            });
+        } catch (DataAccessException e) {
+            // Lock timeout, or another instance did the same concurrently; retried on the next run
+            log.warn("Could not {}: {}", action, e.getMessage());
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
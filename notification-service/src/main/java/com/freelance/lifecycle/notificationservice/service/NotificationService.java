@@ -1,17 +1,38 @@
 package com.freelance.lifecycle.notificationservice.service;
 
+import com.freelance.lifecycle.notificationservice.dto.CursorPageDTO;
+import com.freelance.lifecycle.notificationservice.dto.InboxVersionDTO;
+import com.freelance.lifecycle.notificationservice.dto.MarkAsReadRequestDTO;
 import com.freelance.lifecycle.notificationservice.dto.NotificationDTO;
 import com.freelance.lifecycle.notificationservice.dto.NotificationEventDTO;
+import com.freelance.lifecycle.notificationservice.dto.ReadReceiptDTO;
+import com.freelance.lifecycle.notificationservice.dto.SyncCursor;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
 public interface NotificationService {
 
+    // null when an event with the same eventId was already stored
     NotificationDTO createNotification(NotificationEventDTO eventDTO);
 
-    List<NotificationDTO> getNotificationsForUser(Long userId);
+    // Redelivered events are skipped, so the result may be shorter than the input
+    List<NotificationDTO> createNotifications(List<NotificationEventDTO> eventDTOs);
+
+    List<NotificationDTO> getNotificationsForUser(Long userId, boolean history);
+
+    CursorPageDTO<NotificationDTO> getNotificationsForUser(Long userId, String since, Integer limit, boolean history);
+
+    InboxVersionDTO getInboxVersion(Long userId, boolean history);
 
     NotificationDTO markAsRead(Long notificationId);
 
+    ReadReceiptDTO markAllAsReadForUser(Long userId);
+
+    ReadReceiptDTO markAsRead(MarkAsReadRequestDTO request);
+
     Long getUnreadCountForUser(Long userId);
+
+    SseEmitter streamNotificationsForUser(Long userId, SyncCursor lastEventId);
 }
@@ -1,17 +1,34 @@
 package com.freelance.lifecycle.notificationservice.service;
 
+import com.freelance.lifecycle.notificationservice.dto.CursorPageDTO;
+import com.freelance.lifecycle.notificationservice.dto.InboxVersionDTO;
+import com.freelance.lifecycle.notificationservice.dto.MarkAsReadRequestDTO;
 import com.freelance.lifecycle.notificationservice.dto.NotificationDTO;
 import com.freelance.lifecycle.notificationservice.dto.NotificationEventDTO;
+import com.freelance.lifecycle.notificationservice.dto.ReadReceiptDTO;
+import com.freelance.lifecycle.notificationservice.dto.SyncCursor;
 import com.freelance.lifecycle.notificationservice.exception.NotificationNotFoundException;
 import com.freelance.lifecycle.notificationservice.model.Notification;
+import com.freelance.lifecycle.notificationservice.repository.ArchivedNotificationRepository;
 import com.freelance.lifecycle.notificationservice.repository.NotificationRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -19,35 +36,109 @@ import java.util.stream.Collectors;
 @Transactional
 public class NotificationServiceImpl implements NotificationService {
 
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 500;
+    // Lower bound that covers every partition
+    private static final LocalDateTime ALL_HISTORY = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final Comparator<NotificationDTO> NEWEST_FIRST = Comparator
+            .comparing(NotificationDTO::getCreatedAt).thenComparing(NotificationDTO::getId).reversed();
+
     private final NotificationRepository notificationRepository;
+    private final ArchivedNotificationRepository archivedNotificationRepository;
+    private final UnreadCounters unreadCounters;
+    private final NotificationStreams notificationStreams;
+    private final ProcessedEvents processedEvents;
+    private final NotificationCoalescer notificationCoalescer;
+    private final InboxSync inboxSync;
+
+    @Value("${notifications.partitions.hot-days:90}")
+    private int hotDays;
 
     @Override
     public NotificationDTO createNotification(NotificationEventDTO eventDTO) {
-        log.info("Creating notification for user {} with type {}", eventDTO.getUserId(), eventDTO.getType());
-        
-        Notification notification = new Notification();
-        notification.setUserId(eventDTO.getUserId());
-        notification.setMessage(eventDTO.getMessage());
-        notification.setType(eventDTO.getType());
-        notification.setIsRead(false);
-        
+        if (processedEvents.claimFirstDeliveries(List.of(eventDTO)).isEmpty()) {
+            log.debug("Notification event {} was already processed", eventDTO.getEventId());
+            return null;
+        }
+        Map<Long, Long> unreadDeltas = new HashMap<>();
+        Notification notification = notificationCoalescer.coalesces(eventDTO.getType())
+                ? notificationCoalescer.coalesce(List.of(eventDTO), unreadDeltas).get(0)
+                : newNotification(eventDTO, unreadDeltas);
         Notification savedNotification = notificationRepository.save(notification);
-        log.info("Notification created with ID: {}", savedNotification.getId());
-        
-        return mapToDTO(savedNotification);
+        unreadCounters.adjustAfterCommit(unreadDeltas);
+        log.debug("Notification {} created for user {} with type {}",
+                savedNotification.getId(), eventDTO.getUserId(), eventDTO.getType());
+
+        NotificationDTO dto = mapToDTO(savedNotification);
+        notificationStreams.publishAfterCommit(List.of(dto));
+        return dto;
+    }
+
+    @Override
+    public List<NotificationDTO> createNotifications(List<NotificationEventDTO> eventDTOs) {
+        List<NotificationEventDTO> firstDeliveries = processedEvents.claimFirstDeliveries(eventDTOs);
+        if (firstDeliveries.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Long> unreadDeltas = new HashMap<>();
+        Map<Boolean, List<NotificationEventDTO>> byCoalescing = firstDeliveries.stream()
+                .collect(Collectors.partitioningBy(event -> notificationCoalescer.coalesces(event.getType())));
+        List<Notification> toSave = byCoalescing.get(false).stream()
+                .map(event -> newNotification(event, unreadDeltas))
+                .collect(Collectors.toList());
+        toSave.addAll(notificationCoalescer.coalesce(byCoalescing.get(true), unreadDeltas));
+
+        // One transaction and one JDBC batch for the whole list (ids come from the pooled sequence)
+        List<Notification> notifications = notificationRepository.saveAll(toSave);
+        unreadCounters.adjustAfterCommit(unreadDeltas);
+        log.debug("Created {} notifications for {} events ({} duplicates skipped)",
+                notifications.size(), firstDeliveries.size(), eventDTOs.size() - firstDeliveries.size());
+
+        List<NotificationDTO> dtos = notifications.stream().map(this::mapToDTO).collect(Collectors.toList());
+        // Registered after the counter adjustment, so pushed unread counts already include these
+        notificationStreams.publishAfterCommit(dtos);
+        return dtos;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<NotificationDTO> getNotificationsForUser(Long userId) {
+    public List<NotificationDTO> getNotificationsForUser(Long userId, boolean history) {
         log.info("Retrieving notifications for user {}", userId);
         
-        List<Notification> notifications = notificationRepository.findByUserIdOrderByCreatedAtDesc(userId);
+        List<NotificationDTO> notifications = notificationRepository.findDTOsByUserId(userId, createdFrom(history));
+        if (history) {
+            notifications = newestFirst(notifications, archivedNotificationRepository.findDTOsByUserId(userId), Integer.MAX_VALUE);
+        }
         log.info("Found {} notifications for user {}", notifications.size(), userId);
-        
-        return notifications.stream()
-                .map(this::mapToDTO)
-                .collect(Collectors.toList());
+
+        return notifications;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<NotificationDTO> getNotificationsForUser(Long userId, String since, Integer limit, boolean history) {
+        int pageSize = resolvePageSize(limit);
+        if (since == null) {
+            // First load: the newest notifications, and a cursor to sync forward from
+            List<NotificationDTO> notifications = notificationRepository.findDTOsByUserId(
+                    userId, createdFrom(history), PageRequest.ofSize(pageSize));
+            if (history) {
+                notifications = newestFirst(notifications,
+                        archivedNotificationRepository.findDTOsByUserId(userId, PageRequest.ofSize(pageSize)), pageSize);
+            }
+            return new CursorPageDTO<>(notifications, inboxSync.startCursor().encode(), false);
+        }
+
+        CursorPageDTO<NotificationDTO> page = inboxSync.changesAfter(userId, SyncCursor.decode(since), pageSize, createdFrom(history));
+        log.debug("Found {} notifications for user {} changed after {}", page.getItems().size(), userId, since);
+        return page;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public InboxVersionDTO getInboxVersion(Long userId, boolean history) {
+        // Archiving removes rows from notifications, so its count alone also tracks the archive
+        return notificationRepository.findInboxVersion(userId, createdFrom(history));
     }
 
     @Override
@@ -57,31 +148,102 @@ public class NotificationServiceImpl implements NotificationService {
         Notification notification = notificationRepository.findById(notificationId)
                 .orElseThrow(() -> new NotificationNotFoundException("Notification not found with id: " + notificationId));
         
+        boolean wasUnread = !notification.getIsRead();
         notification.setIsRead(true);
         Notification updatedNotification = notificationRepository.save(notification);
+        if (wasUnread) {
+            unreadCounters.adjustAfterCommit(Map.of(notification.getUserId(), -1L));
+            notificationStreams.publishUnreadCountAfterCommit(notification.getUserId());
+        }
         
         log.info("Notification {} marked as read", notificationId);
         return mapToDTO(updatedNotification);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    public ReadReceiptDTO markAllAsReadForUser(Long userId) {
+        int updated = notificationRepository.markAllAsReadByUserId(userId, LocalDateTime.now());
+        log.info("Marked {} notifications of user {} as read", updated, userId);
+
+        return readReceipt(userId, updated);
+    }
+
+    @Override
+    public ReadReceiptDTO markAsRead(MarkAsReadRequestDTO request) {
+        // Ids that belong to another user, are unknown or already read are simply not counted
+        int updated = notificationRepository.markAsReadByUserIdAndIds(
+                request.getUserId(), Set.copyOf(request.getNotificationIds()), LocalDateTime.now());
+        log.info("Marked {} of {} notifications of user {} as read",
+                updated, request.getNotificationIds().size(), request.getUserId());
+
+        return readReceipt(request.getUserId(), updated);
+    }
+
+    @Override
+    // Answered from memory; only a cold counter touches the database (in the repository's own transaction)
+    @Transactional(propagation = Propagation.SUPPORTS)
     public Long getUnreadCountForUser(Long userId) {
-        log.debug("Getting unread count for user {}", userId);
-        
-        Long count = notificationRepository.countByUserIdAndIsRead(userId, false);
+        long count = unreadCounters.get(userId);
         log.debug("User {} has {} unread notifications", userId, count);
-        
+
         return count;
     }
 
-    private NotificationDTO mapToDTO(Notification notification) {
+    @Override
+    @Transactional(readOnly = true)
+    public SseEmitter streamNotificationsForUser(Long userId, SyncCursor lastEventId) {
+        log.debug("Opening notification stream for user {} (last event {})", userId, lastEventId);
+        return notificationStreams.subscribe(userId, lastEventId);
+    }
+
+    // Without history, queries only reach the partitions of the last hot-days days
+    private LocalDateTime createdFrom(boolean history) {
+        return history ? ALL_HISTORY : LocalDate.now().minusDays(hotDays).atStartOfDay();
+    }
+
+    private static List<NotificationDTO> newestFirst(List<NotificationDTO> live, List<NotificationDTO> archived, int limit) {
+        return Stream.concat(live.stream(), archived.stream())
+                .sorted(NEWEST_FIRST)
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private int resolvePageSize(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    private ReadReceiptDTO readReceipt(Long userId, int updated) {
+        if (updated > 0) {
+            unreadCounters.adjustAfterCommit(Map.of(userId, (long) -updated));
+            notificationStreams.publishUnreadCountAfterCommit(userId);
+        }
+        // Counted inside this transaction: the in-memory counter only reflects the update after commit
+        long unreadCount = notificationRepository.countByUserIdAndIsRead(userId, false);
+        return new ReadReceiptDTO(updated, unreadCount);
+    }
+
+    private Notification newNotification(NotificationEventDTO eventDTO, Map<Long, Long> unreadDeltas) {
+        unreadDeltas.merge(eventDTO.getUserId(), 1L, Long::sum);
+        Notification notification = new Notification();
+        notification.setUserId(eventDTO.getUserId());
+        notification.setMessage(eventDTO.getMessage());
+        notification.setType(eventDTO.getType());
+        notification.setIsRead(false);
+        return notification;
+    }
+
+    NotificationDTO mapToDTO(Notification notification) {
         NotificationDTO dto = new NotificationDTO();
         dto.setId(notification.getId());
         dto.setUserId(notification.getUserId());
         dto.setMessage(notification.getMessage());
         dto.setIsRead(notification.getIsRead());
         dto.setType(notification.getType());
+        dto.setGroupKey(notification.getGroupKey());
+        dto.setItemCount(notification.getItemCount());
         dto.setCreatedAt(notification.getCreatedAt());
         dto.setUpdatedAt(notification.getUpdatedAt());
         return dto;
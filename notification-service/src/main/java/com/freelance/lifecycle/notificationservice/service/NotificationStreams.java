@@ -0,0 +1,249 @@
+package com.freelance.lifecycle.notificationservice.service;
+
+import com.freelance.lifecycle.notificationservice.dto.NotificationDTO;
+import com.freelance.lifecycle.notificationservice.dto.SyncCursor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Server-Sent Event subscribers per user. An idle subscriber holds no thread, only its async
+ * request and a small bounded queue. Events are queued and written by a virtual thread per
+ * subscriber while its queue has events, so a slow client never blocks the consumer that persisted
+ * the notification nor the writes to other clients. A write to a client that stopped reading fails
+ * after {@code server.tomcat.connection-timeout}; a client that falls {@code queue-capacity} events
+ * behind is disconnected and catches up on reconnect
+ * through {@code Last-Event-ID}, which replays from the database what changed since (see
+ * {@link InboxSync}; event ids are sync cursors).
+ * Subscribers only receive notifications persisted by this instance.
+ */
+@Component
+@Slf4j
+public class NotificationStreams {
+
+    static final String NOTIFICATION_EVENT = "notification";
+    static final String UNREAD_COUNT_EVENT = "unread-count";
+
+    private final InboxSync inboxSync;
+    private final UnreadCounters unreadCounters;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ExecutorService senders;
+    private final long timeoutMs;
+    private final int queueCapacity;
+    private final int maxReplay;
+    private final int hotDays;
+    private final Counter overflows;
+
+    public NotificationStreams(InboxSync inboxSync,
+                               UnreadCounters unreadCounters,
+                               MeterRegistry meterRegistry,
+                               @Value("${notifications.stream.timeout-ms:1800000}") long timeoutMs,
+                               @Value("${notifications.stream.queue-capacity:256}") int queueCapacity,
+                               @Value("${notifications.stream.max-replay:500}") int maxReplay,
+                               @Value("${notifications.partitions.hot-days:90}") int hotDays) {
+        this.inboxSync = inboxSync;
+        this.unreadCounters = unreadCounters;
+        this.timeoutMs = timeoutMs;
+        this.queueCapacity = queueCapacity;
+        this.maxReplay = maxReplay;
+        this.hotDays = hotDays;
+        this.senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-sender-", 1).factory());
+
+        Gauge.builder("notifications.stream.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open notification streams on this instance")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("notifications.stream.overflows")
+                .description("Streams closed because the client fell too far behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream for the user. The current unread count is sent first, then any
+     * notifications changed after {@code lastEventId}, then live events.
+     */
+    public SseEmitter subscribe(Long userId, SyncCursor lastEventId) {
+        SseEmitter emitter = createEmitter();
+        Subscriber subscriber = new Subscriber(userId, emitter, queueCapacity);
+        emitter.onCompletion(() -> remove(subscriber));
+        // Completing here ends the request quietly; EventSource clients reconnect on their own
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> remove(subscriber));
+
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriberCount.incrementAndGet();
+
+        enqueue(subscriber, unreadCountEvent(unreadCounters.get(userId)));
+        if (lastEventId != null) {
+            // Live events may already be queued; clients de-duplicate by event id
+            LocalDateTime createdFrom = LocalDate.now().minusDays(hotDays).atStartOfDay();
+            inboxSync.changesAfter(userId, lastEventId, maxReplay, createdFrom).getItems()
+                    .forEach(notification -> enqueue(subscriber, notificationEvent(notification)));
+        }
+        return emitter;
+    }
+
+    /**
+     * Pushes the notifications and the users' new unread counts once the current transaction
+     * commits (immediately if there is none). Users without an open stream are skipped.
+     */
+    public void publishAfterCommit(List<NotificationDTO> notifications) {
+        afterCommit(() -> publish(notifications));
+    }
+
+    public void publishUnreadCountAfterCommit(Long userId) {
+        afterCommit(() -> {
+            Set<Subscriber> userSubscribers = subscribers.get(userId);
+            if (userSubscribers != null) {
+                SseEmitter.SseEventBuilder unreadCount = unreadCountEvent(unreadCounters.get(userId));
+                userSubscribers.forEach(subscriber -> enqueue(subscriber, unreadCount));
+            }
+        });
+    }
+
+    // Comments keep idle connections open through proxies and reveal dead clients
+    @Scheduled(fixedDelayString = "${notifications.stream.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> {
+            if (subscriber.queue.isEmpty()) {
+                enqueue(subscriber, SseEmitter.event().comment("heartbeat"));
+            }
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        subscribers.values().forEach(userSubscribers -> userSubscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private void publish(List<NotificationDTO> notifications) {
+        Map<Long, List<NotificationDTO>> byUser = notifications.stream()
+                .filter(notification -> subscribers.containsKey(notification.getUserId()))
+                .collect(Collectors.groupingBy(NotificationDTO::getUserId));
+        byUser.forEach((userId, userNotifications) -> {
+            Set<Subscriber> userSubscribers = subscribers.get(userId);
+            if (userSubscribers == null) {
+                return;
+            }
+            SseEmitter.SseEventBuilder unreadCount = unreadCountEvent(unreadCounters.get(userId));
+            for (Subscriber subscriber : userSubscribers) {
+                userNotifications.forEach(notification -> enqueue(subscriber, notificationEvent(notification)));
+                enqueue(subscriber, unreadCount);
+            }
+        });
+    }
+
+    // Overridden by tests to stand in for the client connection
+    SseEmitter createEmitter() {
+        return new SseEmitter(timeoutMs);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void enqueue(Subscriber subscriber, SseEmitter.SseEventBuilder event) {
+        if (!subscriber.queue.offer(event)) {
+            // Only the first overflow closes it; later events of the same publish find it removed
+            if (remove(subscriber)) {
+                overflows.increment();
+                log.debug("Closing notification stream of user {}: client is {} events behind",
+                        subscriber.userId, queueCapacity);
+                // complete() waits for a send in progress, which is what made the client fall behind
+                senders.execute(subscriber.emitter::complete);
+            }
+            return;
+        }
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        do {
+            SseEmitter.SseEventBuilder event;
+            while ((event = subscriber.queue.poll()) != null) {
+                try {
+                    subscriber.emitter.send(event);
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away or the emitter already completed
+                    remove(subscriber);
+                    subscriber.queue.clear();
+                    return;
+                }
+            }
+            subscriber.draining.set(false);
+            // An event offered after the last poll but before the flag was cleared needs a new drain
+        } while (!subscriber.queue.isEmpty() && subscriber.draining.compareAndSet(false, true));
+    }
+
+    private boolean remove(Subscriber subscriber) {
+        Set<Subscriber> userSubscribers = subscribers.get(subscriber.userId);
+        if (userSubscribers == null || !userSubscribers.remove(subscriber)) {
+            return false;
+        }
+        subscriberCount.decrementAndGet();
+        subscribers.computeIfPresent(subscriber.userId, (id, set) -> set.isEmpty() ? null : set);
+        return true;
+    }
+
+    private SseEmitter.SseEventBuilder notificationEvent(NotificationDTO notification) {
+        return SseEmitter.event()
+                .id(inboxSync.cursorAfter(notification).encode())
+                .name(NOTIFICATION_EVENT)
+                .data(notification);
+    }
+
+    // No id, so the client's Last-Event-ID keeps pointing at the last notification
+    private static SseEmitter.SseEventBuilder unreadCountEvent(long unreadCount) {
+        return SseEmitter.event()
+                .name(UNREAD_COUNT_EVENT)
+                .data(Map.of("unreadCount", unreadCount));
+    }
+
+    private static final class Subscriber {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final Queue<SseEmitter.SseEventBuilder> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Subscriber(Long userId, SseEmitter emitter, int queueCapacity) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.freelance.lifecycle.notificationservice.service;
+
+import com.freelance.lifecycle.notificationservice.dto.NotificationEventDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Drops redelivered notification events by their producer-assigned {@code eventId}. Ids of the
+ * events stored most recently are kept in a size-bounded in-memory set, so a redelivery shortly
+ * after the original (the common case) is recognised without a query. Every other id is claimed
+ * with an insert into {@code processed_events} in the caller's transaction; the primary key makes
+ * the claim fail for an id that was already processed, on this instance or another one. Events
+ * without an id (older producers) are not deduplicated.
+ */
+@Component
+public class ProcessedEvents {
+
+    private static final String CLAIM_SQL = "INSERT INTO processed_events (event_id, processed_at)"
+            + " SELECT unnest(?::uuid[]), ?"
+            + " ON CONFLICT (event_id) DO NOTHING"
+            + " RETURNING event_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Cache<UUID, Boolean> recentIds;
+    private final Counter cacheHits;
+    private final Counter databaseHits;
+    private final Counter misses;
+
+    public ProcessedEvents(JdbcTemplate jdbcTemplate,
+                           MeterRegistry meterRegistry,
+                           @Value("${notifications.dedup.cache-size:100000}") long cacheSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.recentIds = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, recentIds, "processedEvents");
+        this.cacheHits = checks(meterRegistry, "cache-hit");
+        this.databaseHits = checks(meterRegistry, "database-hit");
+        this.misses = checks(meterRegistry, "new");
+    }
+
+    /**
+     * Returns the events that have not been processed before, in order, and claims their ids in
+     * the current transaction. The ids enter the in-memory set only once that transaction commits;
+     * if it rolls back the claims go with it and a redelivery is processed again.
+     */
+    public List<NotificationEventDTO> claimFirstDeliveries(List<NotificationEventDTO> events) {
+        List<NotificationEventDTO> candidates = new ArrayList<>(events.size());
+        Set<UUID> pendingIds = new HashSet<>();
+        for (NotificationEventDTO event : events) {
+            UUID eventId = event.getEventId();
+            if (eventId == null) {
+                candidates.add(event);
+            } else if (recentIds.getIfPresent(eventId) != null || !pendingIds.add(eventId)) {
+                // Already stored, or repeated within this batch
+                cacheHits.increment();
+            } else {
+                candidates.add(event);
+            }
+        }
+        if (pendingIds.isEmpty()) {
+            return candidates;
+        }
+
+        Set<UUID> claimed = new HashSet<>(jdbcTemplate.queryForList(CLAIM_SQL, UUID.class,
+                pendingIds.stream().map(UUID::toString).toArray(String[]::new), Timestamp.valueOf(LocalDateTime.now())));
+        List<NotificationEventDTO> firstDeliveries = new ArrayList<>(candidates.size());
+        for (NotificationEventDTO event : candidates) {
+            UUID eventId = event.getEventId();
+            if (eventId == null || claimed.contains(eventId)) {
+                firstDeliveries.add(event);
+            } else {
+                // The claiming transaction has committed, otherwise the insert would still be waiting on it
+                recentIds.put(eventId, Boolean.TRUE);
+                databaseHits.increment();
+            }
+        }
+        misses.increment(claimed.size());
+        rememberAfterCommit(claimed);
+        return firstDeliveries;
+    }
+
+    private void rememberAfterCommit(Set<UUID> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            eventIds.forEach(id -> recentIds.put(id, Boolean.TRUE));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                eventIds.forEach(id -> recentIds.put(id, Boolean.TRUE));
+            }
+        });
+    }
+
+    private static Counter checks(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("notifications.dedup.checks")
+                .description("Notification event ids checked for redelivery, by where the answer came from")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
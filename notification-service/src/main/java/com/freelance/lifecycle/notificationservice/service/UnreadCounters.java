@@ -0,0 +1,113 @@
+package com.freelance.lifecycle.notificationservice.service;
+
+import com.freelance.lifecycle.notificationservice.repository.NotificationRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user unread counts kept in memory so the unread-count endpoint does not run a COUNT per
+ * poll. A user's counter is seeded from the database on first use and then adjusted after each
+ * committing transaction that creates or reads notifications. The cache is size-bounded; beyond
+ * the limit Caffeine evicts by W-TinyLFU, which weighs how often a user's counter is used as well
+ * as how recently, not by plain LRU. A periodic reconciliation corrects any drift left by races
+ * between seeding and concurrent adjustments.
+ */
+@Component
+@Slf4j
+public class UnreadCounters {
+
+    private static final int RECONCILE_CHUNK_SIZE = 500;
+
+    private final NotificationRepository notificationRepository;
+    private final Cache<Long, AtomicLong> counters;
+    private final Counter corrections;
+
+    public UnreadCounters(NotificationRepository notificationRepository,
+                          MeterRegistry meterRegistry,
+                          @Value("${notifications.unread-counters.max-users:100000}") long maxUsers) {
+        this.notificationRepository = notificationRepository;
+        this.counters = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, counters, "unreadCounters");
+        Gauge.builder("notifications.unread-counters.hit-ratio", counters, c -> c.stats().hitRate())
+                .description("Share of unread-count reads answered without a database query")
+                .register(meterRegistry);
+        this.corrections = Counter.builder("notifications.unread-counters.corrections")
+                .description("Counters the reconciliation job found out of sync with the database")
+                .register(meterRegistry);
+    }
+
+    public long get(Long userId) {
+        return counters.get(userId, id -> new AtomicLong(notificationRepository.countByUserIdAndIsRead(id, false)))
+                .get();
+    }
+
+    /**
+     * Applies per-user deltas once the current transaction commits (immediately if there is
+     * none). Users that are not cached are skipped; they are seeded from the database later.
+     */
+    public void adjustAfterCommit(Map<Long, Long> deltas) {
+        Map<Long, Long> pending = Map.copyOf(deltas);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            adjust(pending);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                adjust(pending);
+            }
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${notifications.unread-counters.reconcile-interval-ms:60000}")
+    public void reconcile() {
+        List<Long> userIds = new ArrayList<>(counters.asMap().keySet());
+        int corrected = 0;
+        for (int from = 0; from < userIds.size(); from += RECONCILE_CHUNK_SIZE) {
+            List<Long> chunk = userIds.subList(from, Math.min(from + RECONCILE_CHUNK_SIZE, userIds.size()));
+            Map<Long, Long> actual = new HashMap<>();
+            for (Object[] row : notificationRepository.countUnreadByUserIds(chunk)) {
+                actual.put((Long) row[0], (Long) row[1]);
+            }
+            for (Long userId : chunk) {
+                // Quietly: a reconciliation pass is neither a hit nor a use that should keep the user cached
+                AtomicLong counter = counters.policy().getIfPresentQuietly(userId);
+                long expected = actual.getOrDefault(userId, 0L);
+                if (counter != null && counter.getAndSet(expected) != expected) {
+                    corrected++;
+                }
+            }
+        }
+        if (corrected > 0) {
+            corrections.increment(corrected);
+            log.info("Reconciled {} of {} unread counters", corrected, userIds.size());
+        }
+    }
+
+    private void adjust(Map<Long, Long> deltas) {
+        deltas.forEach((userId, delta) -> counters.asMap().computeIfPresent(userId, (id, counter) -> {
+            counter.accumulateAndGet(delta, (current, d) -> Math.max(0, current + d));
+            return counter;
+        }));
+    }
+}
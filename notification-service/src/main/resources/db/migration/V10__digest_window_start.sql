@@ -0,0 +1,4 @@
+-- Start of a digest's coalescing window. A merge replaces the digest with a new row (new id and
+-- created_at) but carries this over, so a steady stream of events cannot keep one digest open
+-- forever. Null on plain notifications; no default, so the table is not rewritten.
+ALTER TABLE notifications ADD COLUMN window_started_at TIMESTAMP(6);
@@ -0,0 +1,16 @@
+-- Schema previously generated by hibernate ddl-auto. Every statement is idempotent so the
+-- script also runs cleanly against databases that ddl-auto already created.
+
+CREATE TABLE IF NOT EXISTS notifications (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id    BIGINT       NOT NULL,
+    message    TEXT         NOT NULL,
+    is_read    BOOLEAN      NOT NULL,
+    type       VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6)
+);
+
+ALTER TABLE notifications DROP CONSTRAINT IF EXISTS notifications_type_check;
+ALTER TABLE notifications ADD CONSTRAINT notifications_type_check
+    CHECK (type IN ('NEW_APPLICATION', 'APPLICATION_ACCEPTED', 'APPLICATION_REJECTED', 'NEW_MESSAGE', 'PROJECT_COMPLETED'));
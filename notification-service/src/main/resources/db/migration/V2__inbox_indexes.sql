@@ -0,0 +1,15 @@
+-- Indexes backing NotificationRepository. CONCURRENTLY avoids blocking writes on large
+-- tables; Flyway runs this script outside a transaction for that reason.
+
+-- findByUserIdOrderByCreatedAtDesc / findDTOsByUserId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_user_created
+    ON notifications (user_id, created_at DESC);
+
+-- findByUserIdAndIsReadOrderByCreatedAtDesc, countByUserIdAndIsRead
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_user_read_created
+    ON notifications (user_id, is_read, created_at DESC);
+
+-- Unread inbox and unread counts only ever touch the (small) unread subset
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_user_unread
+    ON notifications (user_id, created_at DESC)
+    WHERE is_read = false;
@@ -0,0 +1,7 @@
+-- Notification ids move from IDENTITY to a pooled sequence so Hibernate can batch the inserts
+-- made by the batch consumer (IDENTITY forces one round trip per row).
+CREATE SEQUENCE IF NOT EXISTS notifications_seq INCREMENT BY 50;
+
+ALTER TABLE notifications ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+SELECT setval('notifications_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM notifications), 1));
@@ -0,0 +1,6 @@
+-- Incremental sync (findDTOsByUserIdAfter) walks a user's rows by id. The included timestamps
+-- let the inbox version lookup behind ETag / Last-Modified run as an index-only scan.
+-- CONCURRENTLY: Flyway runs this script outside a transaction.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_user_id
+    ON notifications (user_id, id)
+    INCLUDE (created_at, updated_at);
@@ -0,0 +1,86 @@
+-- notifications becomes a table range-partitioned by month on created_at, so old months can be
+-- archived and dropped without touching the hot ones. Existing rows are copied once; on a large
+-- table run this migration in a maintenance window. New monthly partitions are created ahead of
+-- time by NotificationRetentionJob; the default partition only catches rows outside them.
+
+ALTER TABLE notifications RENAME TO notifications_unpartitioned;
+ALTER TABLE notifications_unpartitioned RENAME CONSTRAINT notifications_pkey TO notifications_unpartitioned_pkey;
+
+-- The partition key has to be part of the primary key
+CREATE TABLE notifications (
+    id         BIGINT       NOT NULL,
+    user_id    BIGINT       NOT NULL,
+    message    TEXT         NOT NULL,
+    is_read    BOOLEAN      NOT NULL,
+    type       VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL,
+    updated_at TIMESTAMP(6),
+    CONSTRAINT notifications_pkey PRIMARY KEY (id, created_at),
+    CONSTRAINT notifications_type_check
+        CHECK (type IN ('NEW_APPLICATION', 'APPLICATION_ACCEPTED', 'APPLICATION_REJECTED', 'NEW_MESSAGE', 'PROJECT_COMPLETED'))
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE notifications_default PARTITION OF notifications DEFAULT;
+
+-- One partition per month from the oldest notification through three months ahead
+DO $$
+DECLARE
+    month_start DATE;
+    last_month  DATE := (date_trunc('month', now()) + INTERVAL '3 months')::DATE;
+BEGIN
+    SELECT date_trunc('month', COALESCE(MIN(created_at), now()))::DATE INTO month_start
+    FROM notifications_unpartitioned;
+    WHILE month_start <= last_month LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF notifications FOR VALUES FROM (%L) TO (%L)',
+                       'notifications_p' || to_char(month_start, 'YYYYMM'),
+                       month_start, (month_start + INTERVAL '1 month')::DATE);
+        month_start := (month_start + INTERVAL '1 month')::DATE;
+    END LOOP;
+END $$;
+
+INSERT INTO notifications (id, user_id, message, is_read, type, created_at, updated_at)
+SELECT id, user_id, message, is_read, type, created_at, updated_at
+FROM notifications_unpartitioned;
+
+DROP TABLE notifications_unpartitioned;
+
+-- Same indexes as V2 and V4, now created on every partition
+CREATE INDEX idx_notifications_user_created
+    ON notifications (user_id, created_at DESC);
+
+CREATE INDEX idx_notifications_user_read_created
+    ON notifications (user_id, is_read, created_at DESC);
+
+CREATE INDEX idx_notifications_user_unread
+    ON notifications (user_id, created_at DESC)
+    WHERE is_read = false;
+
+CREATE INDEX idx_notifications_user_id
+    ON notifications (user_id, id)
+    INCLUDE (created_at, updated_at);
+
+ANALYZE notifications;
+
+-- Read notifications past the retention age are moved here. Rows are written once and never
+-- updated, so pages are packed full; only the history lookup is indexed.
+CREATE TABLE notifications_archive (
+    id          BIGINT       NOT NULL PRIMARY KEY,
+    user_id     BIGINT       NOT NULL,
+    message     TEXT         NOT NULL,
+    type        VARCHAR(255) NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL,
+    updated_at  TIMESTAMP(6),
+    archived_at TIMESTAMP(6) NOT NULL
+) WITH (fillfactor = 100);
+
+CREATE INDEX idx_notifications_archive_user_created
+    ON notifications_archive (user_id, created_at DESC);
+
+-- Long messages are compressed with lz4 where the server supports it (pglz otherwise)
+DO $$
+BEGIN
+    ALTER TABLE notifications_archive ALTER COLUMN message SET COMPRESSION lz4;
+EXCEPTION
+    WHEN feature_not_supported THEN
+        RAISE NOTICE 'lz4 not available, notifications_archive keeps the default compression';
+END $$;
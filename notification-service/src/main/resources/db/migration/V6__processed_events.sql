@@ -0,0 +1,10 @@
+-- Ids of the notification events already stored, so a redelivered event is not stored twice.
+-- A separate table because a unique constraint on the partitioned notifications table would
+-- have to include created_at. Rows older than the dedup window are pruned by NotificationRetentionJob.
+CREATE TABLE processed_events (
+    event_id     UUID         NOT NULL PRIMARY KEY,
+    processed_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_processed_events_processed_at
+    ON processed_events (processed_at);
@@ -0,0 +1,7 @@
+-- Coalesced notifications: one digest row stands for item_count events of the same user, type and
+-- group_key (see NotificationCoalescer). Plain notifications have no group_key and a count of 1.
+-- Constant defaults, so neither table is rewritten.
+ALTER TABLE notifications ADD COLUMN group_key VARCHAR(255);
+ALTER TABLE notifications ADD COLUMN item_count INTEGER NOT NULL DEFAULT 1;
+
+ALTER TABLE notifications_archive ADD COLUMN item_count INTEGER NOT NULL DEFAULT 1;
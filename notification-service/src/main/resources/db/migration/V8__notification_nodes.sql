@@ -0,0 +1,7 @@
+-- Live notification-service instances, for the assignment of shard queues (ShardedConsumers).
+-- Each instance refreshes its row every few seconds; rows not refreshed within the node timeout
+-- belong to instances that are gone.
+CREATE TABLE notification_nodes (
+    node_id      VARCHAR(128) NOT NULL PRIMARY KEY,
+    heartbeat_at TIMESTAMP(6) NOT NULL
+);
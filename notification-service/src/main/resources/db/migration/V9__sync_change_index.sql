@@ -0,0 +1,5 @@
+-- Incremental sync (InboxSync) walks a user's rows by last change, then id, so rows marked read
+-- come back to clients. Indexes on a partitioned table cannot be built CONCURRENTLY; this one is
+-- created on every partition while writes to notifications wait.
+CREATE INDEX idx_notifications_user_changed
+    ON notifications (user_id, (COALESCE(updated_at, created_at)), id);
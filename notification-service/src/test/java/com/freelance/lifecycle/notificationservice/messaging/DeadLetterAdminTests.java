@@ -0,0 +1,142 @@
+package com.freelance.lifecycle.notificationservice.messaging;
+
+import com.freelance.lifecycle.notificationservice.config.RabbitMQConfig;
+import com.freelance.lifecycle.notificationservice.dto.DeadLetterQueueDTO;
+import com.freelance.lifecycle.notificationservice.dto.DeadLetterReplayResultDTO;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class DeadLetterAdminTests {
+
+    private final Channel channel = mock(Channel.class);
+    private final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+    private DeadLetterAdmin deadLetterAdmin;
+
+    @BeforeEach
+    void setUp() {
+        Connection connection = mock(Connection.class);
+        when(connectionFactory.createConnection()).thenReturn(connection);
+        when(connection.createChannel(true)).thenReturn(channel);
+        deadLetterAdmin = new DeadLetterAdmin(connectionFactory, new SimpleMeterRegistry(), false);
+    }
+
+    @Test
+    void replayMovesMatchingMessagesAndRotatesTheRest() throws IOException {
+        when(channel.basicGet(RabbitMQConfig.DEAD_LETTER_QUEUE, false)).thenReturn(
+                deadLetter(1, "RETRIES_EXHAUSTED"), deadLetter(2, "INVALID"), deadLetter(3, "RETRIES_EXHAUSTED"), null);
+
+        DeadLetterReplayResultDTO result = deadLetterAdmin.replay(10, FailedMessageRouter.Reason.RETRIES_EXHAUSTED, 100);
+
+        assertThat(result.getReplayed()).isEqualTo(2);
+        assertThat(result.getSkipped()).isEqualTo(1);
+        ArgumentCaptor<AMQP.BasicProperties> published = ArgumentCaptor.forClass(AMQP.BasicProperties.class);
+        verify(channel, times(2))
+                .basicPublish(eq(""), eq(RabbitMQConfig.NOTIFICATIONS_QUEUE), published.capture(), any());
+        // Back with a full set of retries and only the headers the producer set
+        assertThat(published.getAllValues()).allSatisfy(properties ->
+                assertThat(properties.getHeaders()).containsOnlyKeys("x-producer"));
+        // The skipped message moves to the back of the queue, then everything is committed at once
+        InOrder settlement = inOrder(channel);
+        settlement.verify(channel).basicAck(1, false);
+        settlement.verify(channel).basicPublish(eq(""), eq(RabbitMQConfig.DEAD_LETTER_QUEUE), any(), any());
+        settlement.verify(channel).basicAck(2, false);
+        settlement.verify(channel).basicAck(3, false);
+        settlement.verify(channel).txCommit();
+        // Every delivery is already acknowledged; nacking one again would close the channel
+        verify(channel, never()).basicNack(anyLong(), anyBoolean(), anyBoolean());
+    }
+
+    @Test
+    void filteredReplayStopsAtTheScanBound() throws IOException {
+        when(channel.basicGet(RabbitMQConfig.DEAD_LETTER_QUEUE, false)).thenReturn(
+                deadLetter(1, "INVALID"), deadLetter(2, "INVALID"), deadLetter(3, "RETRIES_EXHAUSTED"));
+
+        DeadLetterReplayResultDTO result = deadLetterAdmin.replay(10, FailedMessageRouter.Reason.RETRIES_EXHAUSTED, 2);
+
+        assertThat(result.getReplayed()).isZero();
+        assertThat(result.getSkipped()).isEqualTo(2);
+        verify(channel, times(2)).basicGet(anyString(), anyBoolean());
+        verify(channel).txCommit();
+    }
+
+    @Test
+    void shardedReplayGoesToTheUsersShard() throws IOException {
+        DeadLetterAdmin shardedAdmin = new DeadLetterAdmin(connectionFactory, new SimpleMeterRegistry(), true);
+        when(channel.basicGet(RabbitMQConfig.DEAD_LETTER_QUEUE, false))
+                .thenReturn(deadLetter(1, "RETRIES_EXHAUSTED", "{\"userId\":42}"), (GetResponse) null);
+
+        shardedAdmin.replay(10, null, 100);
+
+        verify(channel).basicPublish(eq(RabbitMQConfig.SHARDED_EXCHANGE), eq("42"), any(), any());
+        verify(channel, never()).basicPublish(eq(""), anyString(), any(), any());
+    }
+
+    @Test
+    void replayStopsAtTheLimit() throws IOException {
+        when(channel.basicGet(RabbitMQConfig.DEAD_LETTER_QUEUE, false)).thenReturn(
+                deadLetter(1, "INVALID"), deadLetter(2, "INVALID"), deadLetter(3, "INVALID"));
+
+        DeadLetterReplayResultDTO result = deadLetterAdmin.replay(2, null, 100);
+
+        assertThat(result.getReplayed()).isEqualTo(2);
+        verify(channel, times(2)).basicGet(anyString(), anyBoolean());
+        verify(channel).txCommit();
+    }
+
+    @Test
+    void peekLeavesEveryMessageOnTheQueue() throws IOException {
+        when(channel.messageCount(RabbitMQConfig.DEAD_LETTER_QUEUE)).thenReturn(3L);
+        when(channel.basicGet(RabbitMQConfig.DEAD_LETTER_QUEUE, false)).thenReturn(
+                deadLetter(1, "INVALID"), deadLetter(2, "RETRIES_EXHAUSTED"), deadLetter(3, "INVALID"), null);
+
+        DeadLetterQueueDTO queue = deadLetterAdmin.peek(50);
+
+        assertThat(queue.getQueueDepth()).isEqualTo(3);
+        assertThat(queue.getMessages()).hasSize(3);
+        assertThat(queue.getPageMessagesByReason()).containsExactlyInAnyOrderEntriesOf(Map.of("INVALID", 2L, "RETRIES_EXHAUSTED", 1L));
+        verify(channel).basicNack(3, true, true);
+        verify(channel, never()).basicAck(anyLong(), anyBoolean());
+        verify(channel, never()).basicPublish(anyString(), anyString(), any(), any());
+    }
+
+    private static GetResponse deadLetter(long deliveryTag, String reason) {
+        return deadLetter(deliveryTag, reason, "{}");
+    }
+
+    private static GetResponse deadLetter(long deliveryTag, String reason, String body) {
+        AMQP.BasicProperties properties = new AMQP.BasicProperties.Builder()
+                .headers(Map.of("x-producer", "application-service",
+                        FailedMessageRouter.RETRY_COUNT_HEADER, 4,
+                        FailedMessageRouter.FAILURE_REASON_HEADER, reason,
+                        FailedMessageRouter.FAILURE_DETAIL_HEADER, "detail",
+                        FailedMessageRouter.FAILED_AT_HEADER, "2024-05-01T10:15:30Z"))
+                .build();
+        return new GetResponse(new Envelope(deliveryTag, false, "", RabbitMQConfig.DEAD_LETTER_QUEUE), properties,
+                body.getBytes(), 0);
+    }
+}
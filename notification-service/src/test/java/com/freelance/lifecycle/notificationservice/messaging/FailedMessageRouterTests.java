@@ -0,0 +1,77 @@
+package com.freelance.lifecycle.notificationservice.messaging;
+
+import com.freelance.lifecycle.notificationservice.config.RabbitMQConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class FailedMessageRouterTests {
+
+    private final RabbitTemplate rabbitTemplate = mock(RabbitTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    // 1 s, 5 s, 25 s, 125 s
+    private final FailedMessageRouter router = new FailedMessageRouter(rabbitTemplate, new RetrySchedule(1000, 5, 4),
+            meterRegistry, false);
+
+    @Test
+    void firstFailureGoesToTheShortestDelay() {
+        Message message = message(null);
+
+        router.retryOrDeadLetter(message, new IllegalStateException("database down"));
+
+        verify(rabbitTemplate).send("", "notifications.queue.retry.1000ms", message);
+        assertThat(message.getMessageProperties().<Integer>getHeader(FailedMessageRouter.RETRY_COUNT_HEADER)).isEqualTo(1);
+        assertThat(message.getMessageProperties().<String>getHeader(FailedMessageRouter.FAILURE_DETAIL_HEADER))
+                .contains("database down");
+    }
+
+    @Test
+    void eachAttemptWaitsLonger() {
+        Message message = message(3);
+
+        router.retryOrDeadLetter(message, new IllegalStateException("database down"));
+
+        verify(rabbitTemplate).send("", "notifications.queue.retry.125000ms", message);
+        assertThat(message.getMessageProperties().<Integer>getHeader(FailedMessageRouter.RETRY_COUNT_HEADER)).isEqualTo(4);
+        assertThat(meterRegistry.get("notifications.consumer.retries").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shardedRetryKeepsTheUserIdAsRoutingKey() {
+        FailedMessageRouter shardedRouter = new FailedMessageRouter(rabbitTemplate, new RetrySchedule(1000, 5, 4),
+                meterRegistry, true);
+        Message message = new Message("{\"userId\":42,\"message\":\"hi\"}".getBytes(), new MessageProperties());
+
+        shardedRouter.retryOrDeadLetter(message, new IllegalStateException("database down"));
+
+        verify(rabbitTemplate).send("notifications.queue.retry.sharded.1000ms", "42", message);
+    }
+
+    @Test
+    void exhaustedRetriesAreDeadLettered() {
+        Message message = message(4);
+
+        router.retryOrDeadLetter(message, new IllegalStateException("database down"));
+
+        verify(rabbitTemplate).send("", RabbitMQConfig.DEAD_LETTER_QUEUE, message);
+        MessageProperties properties = message.getMessageProperties();
+        assertThat(properties.<String>getHeader(FailedMessageRouter.FAILURE_REASON_HEADER)).isEqualTo("RETRIES_EXHAUSTED");
+        assertThat(properties.<String>getHeader(FailedMessageRouter.FAILED_AT_HEADER)).isNotNull();
+        assertThat(meterRegistry.get("notifications.consumer.dead-lettered").tag("reason", "retries_exhausted")
+                .counter().count()).isEqualTo(1);
+    }
+
+    private static Message message(Integer retryCount) {
+        MessageProperties properties = new MessageProperties();
+        if (retryCount != null) {
+            properties.setHeader(FailedMessageRouter.RETRY_COUNT_HEADER, retryCount);
+        }
+        return new Message("{}".getBytes(), properties);
+    }
+}
@@ -0,0 +1,142 @@
+package com.freelance.lifecycle.notificationservice.messaging;
+
+import com.freelance.lifecycle.notificationservice.dto.NotificationEventDTO;
+import com.freelance.lifecycle.notificationservice.service.NotificationService;
+import com.rabbitmq.client.Channel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+class NotificationEventConsumerTests {
+
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final FailedMessageRouter failedMessageRouter = mock(FailedMessageRouter.class);
+    private final Channel channel = mock(Channel.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NotificationEventConsumer consumer = new NotificationEventConsumer(notificationService,
+            new Jackson2JsonMessageConverter(), Validation.buildDefaultValidatorFactory().getValidator(),
+            failedMessageRouter, meterRegistry);
+
+    @Test
+    void storedBatchIsAcknowledgedWithOneMultipleAck() throws IOException {
+        consumer.handleNotificationEvents(List.of(event(1, 11), event(2, 12), event(3, 13)), channel);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<NotificationEventDTO>> stored = ArgumentCaptor.forClass(List.class);
+        verify(notificationService).createNotifications(stored.capture());
+        assertThat(stored.getValue()).extracting(NotificationEventDTO::getUserId).containsExactly(11L, 12L, 13L);
+        verify(channel).basicAck(3, true);
+        verifyNoMoreInteractions(channel);
+        assertThat(outcome("persisted")).isEqualTo(3);
+    }
+
+    @Test
+    void rejectedMessagesAreDeadLetteredAndLeftOutOfTheBatch() throws IOException {
+        Message unreadable = message(2, "{not json");
+        Message invalid = message(4, "{\"message\":\"no user\",\"type\":\"NEW_APPLICATION\"}");
+
+        consumer.handleNotificationEvents(List.of(event(1, 11), unreadable, event(3, 13), invalid), channel);
+
+        verify(failedMessageRouter).deadLetter(eq(unreadable), eq(FailedMessageRouter.Reason.UNREADABLE), anyString());
+        verify(failedMessageRouter).deadLetter(eq(invalid), eq(FailedMessageRouter.Reason.INVALID),
+                argThat(detail -> detail.startsWith("userId")));
+        verify(notificationService).createNotifications(argThat(events -> events.size() == 2));
+        // Rejected deliveries are settled on their own, before the batch ack covering the accepted ones
+        InOrder acks = inOrder(channel);
+        acks.verify(channel).basicAck(2, false);
+        acks.verify(channel).basicAck(4, false);
+        acks.verify(channel).basicAck(3, true);
+        verifyNoMoreInteractions(channel);
+        assertThat(outcome("failed")).isEqualTo(2);
+    }
+
+    @Test
+    void failedBatchIsRetriedOneByOne() throws IOException {
+        Message poisoned = event(2, 12);
+        RuntimeException failure = new IllegalStateException("constraint violated");
+        doThrow(new IllegalStateException("batch insert failed")).when(notificationService).createNotifications(anyList());
+        when(notificationService.createNotification(any())).thenAnswer(invocation -> {
+            if (invocation.<NotificationEventDTO>getArgument(0).getUserId() == 12L) {
+                throw failure;
+            }
+            return null;
+        });
+
+        consumer.handleNotificationEvents(List.of(event(1, 11), poisoned, event(3, 13)), channel);
+
+        verify(failedMessageRouter).retryOrDeadLetter(poisoned, failure);
+        verify(failedMessageRouter, never()).deadLetter(any(), any(), any());
+        InOrder acks = inOrder(channel);
+        acks.verify(channel).basicAck(1, false);
+        acks.verify(channel).basicAck(2, false);
+        acks.verify(channel).basicAck(3, false);
+        verifyNoMoreInteractions(channel);
+        assertThat(meterRegistry.get("notifications.consumer.batch.fallbacks").counter().count()).isEqualTo(1);
+        assertThat(outcome("persisted")).isEqualTo(2);
+        assertThat(outcome("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void messageThatCannotBeRoutedIsRequeued() throws IOException {
+        Message unreadable = message(1, "{not json");
+        doThrow(new AmqpException("broker unavailable")).when(failedMessageRouter).deadLetter(any(), any(), any());
+
+        consumer.handleNotificationEvents(List.of(unreadable, event(2, 12)), channel);
+
+        verify(channel).basicNack(1, false, true);
+        verify(channel, never()).basicAck(eq(1L), anyBoolean());
+        verify(channel).basicAck(2, true);
+        verifyNoMoreInteractions(channel);
+        assertThat(outcome("requeued")).isEqualTo(1);
+    }
+
+    @Test
+    void batchOfOnlyRejectedMessagesStoresNothing() throws IOException {
+        consumer.handleNotificationEvents(List.of(message(1, "{not json")), channel);
+
+        verify(notificationService, never()).createNotifications(anyList());
+        verify(channel).basicAck(1, false);
+        verify(channel, never()).basicAck(anyLong(), eq(true));
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.get("notifications.consumer.messages").tag("outcome", outcome).counter().count();
+    }
+
+    private static Message event(long deliveryTag, long userId) {
+        return message(deliveryTag, "{\"userId\":" + userId + ",\"message\":\"New application\",\"type\":\"NEW_APPLICATION\"}");
+    }
+
+    private static Message message(long deliveryTag, String body) {
+        MessageProperties properties = new MessageProperties();
+        properties.setContentType(MessageProperties.CONTENT_TYPE_JSON);
+        properties.setDeliveryTag(deliveryTag);
+        return new Message(body.getBytes(StandardCharsets.UTF_8), properties);
+    }
+}
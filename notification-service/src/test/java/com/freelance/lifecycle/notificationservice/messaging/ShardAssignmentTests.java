@@ -0,0 +1,69 @@
+package com.freelance.lifecycle.notificationservice.messaging;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardAssignmentTests {
+
+    private static final int SHARDS = 64;
+
+    @Test
+    void everyShardHasExactlyOneOwner() {
+        List<String> nodes = List.of("notification-1", "notification-2", "notification-3");
+
+        List<Integer> assigned = new ArrayList<>();
+        for (String node : nodes) {
+            assigned.addAll(ShardAssignment.ownedShards(node, nodes, SHARDS));
+        }
+
+        assertThat(assigned).hasSize(SHARDS).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void shardsAreSpreadAcrossNodes() {
+        List<String> nodes = List.of("notification-1", "notification-2", "notification-3", "notification-4");
+
+        for (String node : nodes) {
+            // An even split would be 16 each
+            assertThat(ShardAssignment.ownedShards(node, nodes, SHARDS)).hasSizeBetween(8, 24);
+        }
+    }
+
+    @Test
+    void leavingNodeOnlyHandsOverItsOwnShards() {
+        List<String> before = List.of("notification-1", "notification-2", "notification-3");
+        List<String> after = List.of("notification-1", "notification-3");
+
+        for (String node : after) {
+            Set<Integer> kept = new HashSet<>(ShardAssignment.ownedShards(node, after, SHARDS));
+            assertThat(kept).containsAll(ShardAssignment.ownedShards(node, before, SHARDS));
+        }
+    }
+
+    @Test
+    void joiningNodeOnlyTakesShardsFromOthers() {
+        List<String> before = List.of("notification-1", "notification-2");
+        List<String> after = List.of("notification-1", "notification-2", "notification-3");
+
+        for (String node : before) {
+            assertThat(ShardAssignment.ownedShards(node, before, SHARDS))
+                    .containsAll(ShardAssignment.ownedShards(node, after, SHARDS));
+        }
+        assertThat(ShardAssignment.ownedShards("notification-3", after, SHARDS)).isNotEmpty();
+    }
+
+    @Test
+    void assignmentDoesNotDependOnNodeOrder() {
+        List<String> nodes = List.of("notification-1", "notification-2", "notification-3");
+        List<String> reversed = List.of("notification-3", "notification-2", "notification-1");
+
+        assertThat(ShardAssignment.ownedShards("notification-2", reversed, SHARDS))
+                .isEqualTo(ShardAssignment.ownedShards("notification-2", nodes, SHARDS));
+    }
+}
@@ -0,0 +1,187 @@
+package com.freelance.lifecycle.notificationservice.messaging;
+
+import com.freelance.lifecycle.notificationservice.config.RabbitMQConfig;
+import com.rabbitmq.client.AMQP;
+import com.rabbitmq.client.Channel;
+import com.rabbitmq.client.DefaultConsumer;
+import com.rabbitmq.client.Envelope;
+import com.rabbitmq.client.GetResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Exchange;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.rabbit.connection.CachingConnectionFactory;
+import org.springframework.amqp.rabbit.connection.Connection;
+import org.springframework.amqp.rabbit.core.RabbitAdmin;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.images.builder.Transferable;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Declares the sharded topology on a real RabbitMQ with the consistent-hash plugin and checks
+ * that each user's events land, in order, on a single shard queue, and that a shard queue only
+ * delivers to one of its consumers at a time, and that a retried event comes back to its user's shard.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class ShardedTopologyTests {
+
+    private static final int SHARDS = 4;
+    private static final long RETRY_DELAY_MS = 100;
+
+    @Container
+    static GenericContainer<?> rabbitmq = new GenericContainer<>("rabbitmq:3.13-alpine")
+            .withCopyToContainer(Transferable.of("[rabbitmq_consistent_hash_exchange]."), "/etc/rabbitmq/enabled_plugins")
+            .withExposedPorts(5672)
+            .waitingFor(Wait.forLogMessage(".*Server startup complete.*", 1));
+
+    private static CachingConnectionFactory connectionFactory;
+    private static RabbitTemplate rabbitTemplate;
+
+    @BeforeAll
+    static void declareTopology() {
+        connectionFactory = new CachingConnectionFactory(rabbitmq.getHost(), rabbitmq.getMappedPort(5672));
+        RabbitAdmin admin = new RabbitAdmin(connectionFactory);
+        List<Declarable> declarables = new ArrayList<>(new RabbitMQConfig().notificationShardTopology(true, SHARDS).getDeclarables());
+        declarables.addAll(new RabbitMQConfig()
+                .notificationRetryTopology(new RetrySchedule(RETRY_DELAY_MS, 1, 1), true).getDeclarables());
+        declarables.forEach(declarable -> {
+            if (declarable instanceof Exchange exchange) {
+                admin.declareExchange(exchange);
+            } else if (declarable instanceof Queue queue) {
+                admin.declareQueue(queue);
+            } else if (declarable instanceof Binding binding) {
+                admin.declareBinding(binding);
+            }
+        });
+        rabbitTemplate = new RabbitTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void closeConnections() {
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void eachUserIsRoutedInOrderToASingleShard() throws Exception {
+        for (int seq = 0; seq < 50; seq++) {
+            for (long userId = 1; userId <= 20; userId++) {
+                rabbitTemplate.send(RabbitMQConfig.SHARDED_EXCHANGE, String.valueOf(userId),
+                        new Message((userId + ":" + seq).getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+
+        Map<String, Integer> shardOfUser = new HashMap<>();
+        Map<String, List<Integer>> sequencesOfUser = new HashMap<>();
+        Set<Integer> usedShards = new HashSet<>();
+        try (Connection connection = connectionFactory.createConnection();
+             Channel channel = connection.createChannel(false)) {
+            for (int shard = 0; shard < SHARDS; shard++) {
+                GetResponse response;
+                while ((response = channel.basicGet(RabbitMQConfig.shardQueueName(shard), true)) != null) {
+                    String[] body = new String(response.getBody(), StandardCharsets.UTF_8).split(":");
+                    Integer previousShard = shardOfUser.putIfAbsent(body[0], shard);
+                    assertThat(previousShard == null ? shard : previousShard).isEqualTo(shard);
+                    sequencesOfUser.computeIfAbsent(body[0], user -> new ArrayList<>()).add(Integer.parseInt(body[1]));
+                    usedShards.add(shard);
+                }
+            }
+        }
+
+        assertThat(sequencesOfUser).hasSize(20);
+        sequencesOfUser.values().forEach(sequences -> assertThat(sequences).hasSize(50).isSorted());
+        assertThat(usedShards).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void retriedEventReturnsToTheShardOfItsUser() throws Exception {
+        String body = "{\"userId\":42}";
+        rabbitTemplate.send(RabbitMQConfig.SHARDED_EXCHANGE, "42", new Message(body.getBytes(StandardCharsets.UTF_8)));
+        new FailedMessageRouter(rabbitTemplate, new RetrySchedule(RETRY_DELAY_MS, 1, 1), new SimpleMeterRegistry(), true)
+                .retryOrDeadLetter(new Message(body.getBytes(StandardCharsets.UTF_8)), new IllegalStateException("down"));
+
+        List<Integer> shards = new ArrayList<>();
+        try (Connection connection = connectionFactory.createConnection();
+             Channel channel = connection.createChannel(false)) {
+            waitFor(() -> {
+                for (int shard = 0; shard < SHARDS; shard++) {
+                    try {
+                        while (channel.basicGet(RabbitMQConfig.shardQueueName(shard), true) != null) {
+                            shards.add(shard);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return shards.size() == 2;
+            });
+        }
+
+        // The original delivery and its retry, on the same shard
+        assertThat(shards).hasSize(2).containsOnly(shards.get(0));
+    }
+
+    @Test
+    void shardQueueDeliversToASingleActiveConsumer() throws Exception {
+        String queue = RabbitMQConfig.shardQueueName(0);
+        List<String> deliveries = new CopyOnWriteArrayList<>();
+        try (Connection connection = connectionFactory.createConnection();
+             Channel first = connection.createChannel(false);
+             Channel second = connection.createChannel(false)) {
+            String firstTag = first.basicConsume(queue, true, recorder(first, "first", deliveries));
+            second.basicConsume(queue, true, recorder(second, "second", deliveries));
+
+            for (int i = 0; i < 10; i++) {
+                rabbitTemplate.send("", queue, new Message(new byte[0]));
+            }
+            waitFor(() -> deliveries.size() == 10);
+            assertThat(deliveries).containsOnly("first");
+
+            // Cancelling the active consumer hands the queue over to the standby one
+            first.basicCancel(firstTag);
+            for (int i = 0; i < 10; i++) {
+                rabbitTemplate.send("", queue, new Message(new byte[0]));
+            }
+            waitFor(() -> deliveries.size() == 20);
+            assertThat(deliveries.subList(10, 20)).containsOnly("second");
+        }
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private static DefaultConsumer recorder(Channel channel, String name, List<String> deliveries) {
+        return new DefaultConsumer(channel) {
+            @Override
+            public void handleDelivery(String consumerTag, Envelope envelope, AMQP.BasicProperties properties, byte[] body) {
+                deliveries.add(name);
+            }
+        };
+    }
+}
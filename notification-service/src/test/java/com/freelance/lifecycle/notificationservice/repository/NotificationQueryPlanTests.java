@@ -0,0 +1,116 @@
+package com.freelance.lifecycle.notificationservice.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations against a real PostgreSQL and checks that the inbox queries are
+ * served by the partitions' indexes instead of sequential scans, and that the hot-window bound
+ * prunes older partitions. Empty partitions are seq-scanned at no cost, so only the ones holding
+ * the seeded rows are checked.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class NotificationQueryPlanTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        // January lands in its own partition, February and March in the default one
+        jdbcTemplate.execute("""
+                CREATE TABLE notifications_p202401 PARTITION OF notifications
+                FOR VALUES FROM ('2024-01-01') TO ('2024-02-01')
+                """);
+        // Mostly read notifications, as in a long-lived inbox
+        jdbcTemplate.update("""
+                INSERT INTO notifications (id, user_id, message, is_read, type, created_at)
+                SELECT nextval('notifications_seq'), g % 2000, 'message ' || g, g % 20 <> 0, 'NEW_APPLICATION',
+                       TIMESTAMP '2024-01-01' + g * INTERVAL '1 minute'
+                FROM generate_series(1, 100000) AS g
+                """);
+        jdbcTemplate.execute("ANALYZE notifications");
+    }
+
+    @Test
+    void inboxUsesUserIndex() {
+        assertIndexScans(explain("SELECT * FROM notifications WHERE user_id = 42 ORDER BY created_at DESC"));
+    }
+
+    @Test
+    void unreadInboxUsesIndex() {
+        assertIndexScans(explain("""
+                SELECT * FROM notifications WHERE user_id = 42 AND is_read = false
+                ORDER BY created_at DESC
+                """));
+    }
+
+    @Test
+    void unreadCountUsesIndex() {
+        assertIndexScans(explain("SELECT count(*) FROM notifications WHERE user_id = 42 AND is_read = false"));
+    }
+
+    @Test
+    void sinceCursorUsesChangeIndex() {
+        assertIndexScans(explain("""
+                SELECT * FROM notifications WHERE user_id = 42
+                AND coalesce(updated_at, created_at) >= TIMESTAMP '2024-01-10'
+                AND (coalesce(updated_at, created_at) > TIMESTAMP '2024-01-10' OR id > 50000)
+                ORDER BY coalesce(updated_at, created_at), id LIMIT 51
+                """));
+    }
+
+    @Test
+    void inboxVersionUsesIndex() {
+        assertIndexScans(explain("SELECT count(*), max(coalesce(updated_at, created_at)) FROM notifications WHERE user_id = 42"));
+    }
+
+    @Test
+    void hotWindowSkipsOlderPartitions() {
+        assertThat(explain("""
+                SELECT * FROM notifications WHERE user_id = 42 AND created_at >= TIMESTAMP '2024-02-01'
+                ORDER BY created_at DESC
+                """)).contains("notifications_default").doesNotContain("notifications_p202401");
+    }
+
+    @Test
+    void listingReachesOlderPartitionsThroughIndexes() {
+        // Hot window or unread: the older partition answers both branches from its indexes
+        String plan = explain("""
+                SELECT * FROM notifications WHERE user_id = 42
+                AND (created_at >= TIMESTAMP '2024-02-01' OR is_read = false)
+                ORDER BY created_at DESC
+                """);
+        assertIndexScans(plan);
+        assertThat(plan).contains("BitmapOr");
+    }
+
+    private void assertIndexScans(String plan) {
+        assertThat(plan)
+                .contains("Index", "notifications_p202401", "notifications_default")
+                .doesNotContain("Seq Scan on notifications_p202401", "Seq Scan on notifications_default");
+    }
+
+    private String explain(String sql) {
+        List<String> plan = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        return String.join("\n", plan);
+    }
+}
@@ -0,0 +1,81 @@
+package com.freelance.lifecycle.notificationservice.repository;
+
+import com.freelance.lifecycle.notificationservice.dto.NotificationDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks against a real PostgreSQL that hot-window listings show every notification the unread
+ * count includes, however old.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class NotificationRepositoryTests {
+
+    private static final long USER_ID = 7;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final LocalDateTime createdFrom = LocalDateTime.now().minusDays(90);
+
+    @Test
+    void listingKeepsOldUnreadAndDropsOldRead() {
+        long oldUnread = insert(createdFrom.minusDays(200), false);
+        insert(createdFrom.minusDays(100), true);
+        long recentRead = insert(createdFrom.plusDays(30), true);
+        long recentUnread = insert(createdFrom.plusDays(60), false);
+
+        assertThat(notificationRepository.findDTOsByUserId(USER_ID, createdFrom))
+                .extracting(NotificationDTO::getId).containsExactly(recentUnread, recentRead, oldUnread);
+        assertThat(notificationRepository.findDTOsByUserId(USER_ID, createdFrom, PageRequest.ofSize(2)))
+                .extracting(NotificationDTO::getId).containsExactly(recentUnread, recentRead);
+        assertThat(notificationRepository.findDTOsByUserId(USER_ID, createdFrom)
+                .stream().filter(notification -> !notification.getIsRead()).count())
+                .isEqualTo(notificationRepository.countByUserIdAndIsRead(USER_ID, false));
+        assertThat(notificationRepository.findInboxVersion(USER_ID, createdFrom).getNotificationCount()).isEqualTo(3);
+    }
+
+    @Test
+    void oldNotificationMarkedReadIsASyncChange() {
+        long oldUnread = insert(createdFrom.minusDays(200), false);
+        LocalDateTime cursor = LocalDateTime.now().minusMinutes(1);
+
+        notificationRepository.markAllAsReadByUserId(USER_ID, LocalDateTime.now());
+
+        assertThat(notificationRepository.findDTOsChangedAfter(USER_ID, cursor, 0L, createdFrom, PageRequest.ofSize(10)))
+                .singleElement().satisfies(notification -> {
+                    assertThat(notification.getId()).isEqualTo(oldUnread);
+                    assertThat(notification.getIsRead()).isTrue();
+                });
+    }
+
+    private long insert(LocalDateTime createdAt, boolean read) {
+        return jdbcTemplate.queryForObject("""
+                INSERT INTO notifications (id, user_id, message, is_read, type, created_at)
+                VALUES (nextval('notifications_seq'), ?, 'message', ?, 'NEW_APPLICATION', ?)
+                RETURNING id
+                """, Long.class, USER_ID, read, Timestamp.valueOf(createdAt));
+    }
+}
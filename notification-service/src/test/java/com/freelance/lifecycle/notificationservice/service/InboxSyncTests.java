@@ -0,0 +1,140 @@
+package com.freelance.lifecycle.notificationservice.service;
+
+import com.freelance.lifecycle.notificationservice.dto.CursorPageDTO;
+import com.freelance.lifecycle.notificationservice.dto.NotificationDTO;
+import com.freelance.lifecycle.notificationservice.dto.SyncCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Syncs against a real PostgreSQL while other transactions write, each on its own connection and
+ * committing when the test says so.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import(InboxSync.class)
+// Each sync reads in its own transaction and sees what the writers committed
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class InboxSyncTests {
+
+    private static final LocalDateTime ALL_HISTORY = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @Autowired
+    private InboxSync inboxSync;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void rowCommittedAfterANewerOneIsNotSkipped() throws SQLException {
+        long userId = 101;
+        SyncCursor cursor = inboxSync.startCursor();
+
+        try (Connection slow = dataSource.getConnection(); Connection fast = dataSource.getConnection()) {
+            slow.setAutoCommit(false);
+            long early = insert(slow, userId, LocalDateTime.now());
+            long late = insert(fast, userId, LocalDateTime.now());
+            // The slow transaction has the lower id and the older timestamp but has not committed yet
+            assertThat(early).isLessThan(late);
+
+            CursorPageDTO<NotificationDTO> first = sync(userId, cursor);
+            assertThat(ids(first)).containsExactly(late);
+
+            slow.commit();
+            CursorPageDTO<NotificationDTO> second = sync(userId, SyncCursor.decode(first.getNextSince()));
+            assertThat(ids(second)).contains(early);
+        }
+    }
+
+    @Test
+    void readStateChangesAreSynced() throws SQLException {
+        long userId = 102;
+        long id;
+        try (Connection connection = dataSource.getConnection()) {
+            id = insert(connection, userId, LocalDateTime.now().minusHours(1));
+        }
+        CursorPageDTO<NotificationDTO> first = sync(userId, new SyncCursor(ALL_HISTORY, 0L));
+        assertThat(first.getItems()).singleElement().satisfies(notification -> assertThat(notification.getIsRead()).isFalse());
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE notifications SET is_read = true, updated_at = ? WHERE id = ?")) {
+            update.setTimestamp(1, Timestamp.valueOf(LocalDateTime.now()));
+            update.setLong(2, id);
+            update.executeUpdate();
+        }
+        CursorPageDTO<NotificationDTO> second = sync(userId, SyncCursor.decode(first.getNextSince()));
+        assertThat(second.getItems()).singleElement().satisfies(notification -> {
+            assertThat(notification.getId()).isEqualTo(id);
+            assertThat(notification.getIsRead()).isTrue();
+        });
+    }
+
+    @Test
+    void pagesThroughSettledChanges() throws SQLException {
+        long userId = 103;
+        try (Connection connection = dataSource.getConnection()) {
+            for (int i = 3; i > 0; i--) {
+                insert(connection, userId, LocalDateTime.now().minusMinutes(i));
+            }
+        }
+
+        CursorPageDTO<NotificationDTO> first = inboxSync.changesAfter(userId, new SyncCursor(ALL_HISTORY, 0L), 2, ALL_HISTORY);
+        assertThat(first.getItems()).hasSize(2);
+        assertThat(first.isHasMore()).isTrue();
+
+        CursorPageDTO<NotificationDTO> second = inboxSync.changesAfter(userId, SyncCursor.decode(first.getNextSince()), 2, ALL_HISTORY);
+        assertThat(second.getItems()).hasSize(1);
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(ids(second)).doesNotContainAnyElementsOf(ids(first));
+    }
+
+    private CursorPageDTO<NotificationDTO> sync(long userId, SyncCursor since) {
+        return inboxSync.changesAfter(userId, since, 50, ALL_HISTORY);
+    }
+
+    private static long insert(Connection connection, long userId, LocalDateTime createdAt) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO notifications (id, user_id, message, is_read, type, created_at)
+                VALUES (nextval('notifications_seq'), ?, 'message', false, 'NEW_APPLICATION', ?)
+                RETURNING id
+                """)) {
+            insert.setLong(1, userId);
+            insert.setTimestamp(2, Timestamp.valueOf(createdAt));
+            try (ResultSet id = insert.executeQuery()) {
+                id.next();
+                return id.getLong(1);
+            }
+        }
+    }
+
+    private static List<Long> ids(CursorPageDTO<NotificationDTO> page) {
+        return page.getItems().stream().map(NotificationDTO::getId).collect(Collectors.toList());
+    }
+}
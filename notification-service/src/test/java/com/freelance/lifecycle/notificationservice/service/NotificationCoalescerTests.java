@@ -0,0 +1,137 @@
+package com.freelance.lifecycle.notificationservice.service;
+
+import com.freelance.lifecycle.notificationservice.dto.NotificationEventDTO;
+import com.freelance.lifecycle.notificationservice.model.Notification;
+import com.freelance.lifecycle.notificationservice.model.NotificationType;
+import com.freelance.lifecycle.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class NotificationCoalescerTests {
+
+    private static final long WINDOW_MS = 600_000;
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final NotificationCoalescer coalescer = new NotificationCoalescer(notificationRepository, meterRegistry,
+            Set.of(NotificationType.NEW_APPLICATION), WINDOW_MS);
+    private final Map<Long, Long> unreadDeltas = new HashMap<>();
+
+    @Test
+    void burstWithoutOpenDigestBecomesOneUnreadDigest() {
+        List<Notification> digests = coalescer.coalesce(
+                List.of(event(1L, "project-7", "first"), event(1L, "project-7", "second"), event(1L, "project-7", "third")),
+                unreadDeltas);
+
+        assertThat(digests).singleElement().satisfies(digest -> {
+            assertThat(digest.getItemCount()).isEqualTo(3);
+            assertThat(digest.getMessage()).isEqualTo("third");
+            assertThat(digest.getGroupKey()).isEqualTo("project-7");
+            assertThat(digest.getWindowStartedAt()).isCloseTo(LocalDateTime.now(), within(5, ChronoUnit.SECONDS));
+        });
+        assertThat(unreadDeltas).containsExactly(Map.entry(1L, 1L));
+        assertThat(meterRegistry.get("notifications.coalescing.coalesced").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void openDigestIsReplacedKeepingItsWindow() {
+        LocalDateTime windowStartedAt = LocalDateTime.now().minusMinutes(8);
+        Notification open = digest(4, windowStartedAt, LocalDateTime.now().minusMinutes(1));
+        when(notificationRepository.findOpenDigests(eq(1L), eq(NotificationType.NEW_APPLICATION), eq("project-7"), any(), any()))
+                .thenReturn(List.of(open));
+
+        List<Notification> digests = coalescer.coalesce(
+                List.of(event(1L, "project-7", "fifth"), event(1L, "project-7", "sixth")), unreadDeltas);
+
+        verify(notificationRepository).delete(open);
+        assertThat(digests).singleElement().satisfies(digest -> {
+            assertThat(digest.getItemCount()).isEqualTo(6);
+            assertThat(digest.getMessage()).isEqualTo("sixth");
+            // Not the time of this merge: the window keeps counting from the first event
+            assertThat(digest.getWindowStartedAt()).isEqualTo(windowStartedAt);
+        });
+        // One unread digest replaced by another
+        assertThat(unreadDeltas).isEmpty();
+        assertThat(meterRegistry.get("notifications.coalescing.coalesced").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void digestWithoutWindowStartUsesItsCreationTime() {
+        LocalDateTime createdAt = LocalDateTime.now().minusMinutes(3);
+        when(notificationRepository.findOpenDigests(anyLong(), any(), any(), any(), any()))
+                .thenReturn(List.of(digest(2, null, createdAt)));
+
+        List<Notification> digests = coalescer.coalesce(List.of(event(1L, "project-7", "third")), unreadDeltas);
+
+        assertThat(digests.get(0).getWindowStartedAt()).isEqualTo(createdAt);
+    }
+
+    @Test
+    void onlyDigestsWhoseWindowIsOpenAreLookedUp() {
+        coalescer.coalesce(List.of(event(1L, "project-7", "first")), unreadDeltas);
+
+        ArgumentCaptor<LocalDateTime> windowStart = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(notificationRepository).findOpenDigests(eq(1L), eq(NotificationType.NEW_APPLICATION), eq("project-7"),
+                windowStart.capture(), any());
+        assertThat(windowStart.getValue())
+                .isCloseTo(LocalDateTime.now().minus(WINDOW_MS, ChronoUnit.MILLIS), within(5, ChronoUnit.SECONDS));
+        verify(notificationRepository, never()).delete(any());
+    }
+
+    @Test
+    void groupsAreLockedInLockIdOrder() {
+        List<NotificationEventDTO> events = List.of(
+                event(1L, "project-7", "a"), event(2L, "project-7", "b"), event(1L, "project-9", "c"),
+                event(3L, null, "d"), event(2L, "project-1", "e"));
+
+        List<Notification> digests = coalescer.coalesce(events, unreadDeltas);
+
+        ArgumentCaptor<Long> lockIds = ArgumentCaptor.forClass(Long.class);
+        verify(notificationRepository, times(5)).lockDigestGroup(lockIds.capture());
+        assertThat(lockIds.getAllValues()).isSorted().doesNotHaveDuplicates();
+        assertThat(digests).hasSize(5);
+        assertThat(unreadDeltas).containsExactlyInAnyOrderEntriesOf(Map.of(1L, 2L, 2L, 2L, 3L, 1L));
+    }
+
+    @Test
+    void lockIdDependsOnlyOnTheGroup() {
+        assertThat(NotificationCoalescer.lockId("1:NEW_APPLICATION:project-7"))
+                .isEqualTo(NotificationCoalescer.lockId("1:NEW_APPLICATION:project-7"))
+                .isNotEqualTo(NotificationCoalescer.lockId("1:NEW_APPLICATION:project-8"));
+    }
+
+    private static NotificationEventDTO event(Long userId, String groupKey, String message) {
+        return new NotificationEventDTO(null, userId, message, NotificationType.NEW_APPLICATION, groupKey);
+    }
+
+    private static Notification digest(int itemCount, LocalDateTime windowStartedAt, LocalDateTime createdAt) {
+        Notification digest = new Notification();
+        digest.setId(40L);
+        digest.setUserId(1L);
+        digest.setType(NotificationType.NEW_APPLICATION);
+        digest.setGroupKey("project-7");
+        digest.setItemCount(itemCount);
+        digest.setWindowStartedAt(windowStartedAt);
+        digest.setCreatedAt(createdAt);
+        return digest;
+    }
+}
@@ -0,0 +1,140 @@
+package com.freelance.lifecycle.notificationservice.service;
+
+import com.freelance.lifecycle.notificationservice.dto.NotificationDTO;
+import com.freelance.lifecycle.notificationservice.dto.SyncCursor;
+import com.freelance.lifecycle.notificationservice.model.NotificationType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.InterruptedIOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class NotificationStreamsTests {
+
+    private static final int QUEUE_CAPACITY = 4;
+
+    // Held until the test ends: every send to a slow client blocks like a full socket buffer
+    private final CountDownLatch slowClientsReading = new CountDownLatch(1);
+    private final List<SlowEmitter> slowEmitters = new ArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RecordingEmitter nextEmitter;
+    private NotificationStreams streams;
+
+    @BeforeEach
+    void setUp() {
+        InboxSync inboxSync = mock(InboxSync.class);
+        when(inboxSync.cursorAfter(any())).thenReturn(new SyncCursor(LocalDateTime.now(), 0L));
+        UnreadCounters unreadCounters = mock(UnreadCounters.class);
+        when(unreadCounters.get(anyLong())).thenReturn(0L);
+
+        streams = new NotificationStreams(inboxSync, unreadCounters, meterRegistry, 60_000, QUEUE_CAPACITY, 500, 90) {
+            @Override
+            SseEmitter createEmitter() {
+                if (nextEmitter != null) {
+                    return nextEmitter;
+                }
+                SlowEmitter emitter = new SlowEmitter(slowClientsReading);
+                slowEmitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        slowClientsReading.countDown();
+        streams.shutdown();
+    }
+
+    @Test
+    void slowSubscribersDoNotDelayOthers() throws InterruptedException {
+        // More stuck clients than a fixed pool of sender threads would have
+        for (long userId = 1; userId <= 32; userId++) {
+            streams.subscribe(userId, null);
+        }
+        for (SlowEmitter emitter : slowEmitters) {
+            assertThat(emitter.sending.await(2, TimeUnit.SECONDS)).isTrue();
+        }
+
+        RecordingEmitter fast = new RecordingEmitter();
+        nextEmitter = fast;
+        streams.subscribe(100L, null);
+        streams.publishAfterCommit(List.of(notification(1L), notification(100L)));
+
+        // unread-count on subscribe, then the notification and the new count
+        for (int i = 0; i < 3; i++) {
+            assertThat(fast.events.poll(2, TimeUnit.SECONDS)).isNotNull();
+        }
+    }
+
+    @Test
+    void subscriberFallingBehindIsClosed() throws InterruptedException {
+        streams.subscribe(1L, null);
+        SlowEmitter slow = slowEmitters.get(0);
+        assertThat(slow.sending.await(2, TimeUnit.SECONDS)).isTrue();
+
+        // Each notification queues two events behind the send in progress; the third overflows
+        for (int i = 0; i < 3; i++) {
+            streams.publishAfterCommit(List.of(notification(1L)));
+        }
+
+        assertThat(meterRegistry.get("notifications.stream.overflows").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("notifications.stream.subscribers").gauge().value()).isZero();
+        assertThat(slow.completed.await(2, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private static NotificationDTO notification(Long userId) {
+        return new NotificationDTO(1L, userId, "message", false, NotificationType.NEW_APPLICATION, null, 1,
+                LocalDateTime.now(), null);
+    }
+
+    private static final class SlowEmitter extends SseEmitter {
+        private final CountDownLatch reading;
+        private final CountDownLatch sending = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+
+        private SlowEmitter(CountDownLatch reading) {
+            this.reading = reading;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws InterruptedIOException {
+            sending.countDown();
+            try {
+                reading.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed.countDown();
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<SseEventBuilder> events = new LinkedBlockingQueue<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            events.add(builder);
+        }
+    }
+}
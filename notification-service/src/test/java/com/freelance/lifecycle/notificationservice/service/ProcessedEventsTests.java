@@ -0,0 +1,136 @@
+package com.freelance.lifecycle.notificationservice.service;
+
+import com.freelance.lifecycle.notificationservice.dto.NotificationEventDTO;
+import com.freelance.lifecycle.notificationservice.model.NotificationType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Claims event ids against a real PostgreSQL, one transaction per delivered batch as the consumer
+ * does, and checks what ends up in processed_events and in the in-memory set.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+@Import({ProcessedEvents.class, ProcessedEventsTests.Metrics.class})
+// Each batch commits or rolls back on its own, as in the consumer
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ProcessedEventsTests {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    @TestConfiguration
+    static class Metrics {
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    private ProcessedEvents processedEvents;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void repeatWithinOneBatchIsStoredOnce() {
+        NotificationEventDTO event = event(UUID.randomUUID());
+
+        List<NotificationEventDTO> firstDeliveries = inBatch(List.of(event, event, event(null)));
+
+        assertThat(firstDeliveries).hasSize(2).containsOnlyOnce(event);
+        assertThat(rows(event)).isEqualTo(1);
+    }
+
+    @Test
+    void redeliveryInALaterBatchIsAnsweredFromMemory() {
+        NotificationEventDTO event = event(UUID.randomUUID());
+        double cacheHits = checks("cache-hit");
+
+        assertThat(inBatch(List.of(event))).containsExactly(event);
+        assertThat(inBatch(List.of(event))).isEmpty();
+
+        assertThat(rows(event)).isEqualTo(1);
+        // Remembered once the first batch committed, so no second claim was attempted
+        assertThat(checks("cache-hit") - cacheHits).isEqualTo(1);
+    }
+
+    @Test
+    void redeliveryToAnotherInstanceIsAnsweredByTheDatabase() {
+        NotificationEventDTO event = event(UUID.randomUUID());
+        SimpleMeterRegistry otherRegistry = new SimpleMeterRegistry();
+        ProcessedEvents otherInstance = new ProcessedEvents(jdbcTemplate, otherRegistry, 100);
+
+        assertThat(inBatch(List.of(event))).containsExactly(event);
+        assertThat(inBatch(otherInstance, List.of(event))).isEmpty();
+
+        assertThat(rows(event)).isEqualTo(1);
+        assertThat(otherRegistry.get("notifications.dedup.checks").tag("result", "database-hit").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void rolledBackBatchIsProcessedAgain() {
+        NotificationEventDTO event = event(UUID.randomUUID());
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            assertThat(processedEvents.claimFirstDeliveries(List.of(event))).containsExactly(event);
+            status.setRollbackOnly();
+        });
+
+        assertThat(rows(event)).isZero();
+        assertThat(inBatch(List.of(event))).containsExactly(event);
+        assertThat(rows(event)).isEqualTo(1);
+    }
+
+    private List<NotificationEventDTO> inBatch(List<NotificationEventDTO> events) {
+        return inBatch(processedEvents, events);
+    }
+
+    private List<NotificationEventDTO> inBatch(ProcessedEvents instance, List<NotificationEventDTO> events) {
+        return new TransactionTemplate(transactionManager).execute(status -> instance.claimFirstDeliveries(events));
+    }
+
+    private int rows(NotificationEventDTO event) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM processed_events WHERE event_id = ?", Integer.class,
+                event.getEventId());
+    }
+
+    private double checks(String result) {
+        return meterRegistry.get("notifications.dedup.checks").tag("result", result).counter().count();
+    }
+
+    private static NotificationEventDTO event(UUID eventId) {
+        return new NotificationEventDTO(eventId, 7L, "New application", NotificationType.NEW_APPLICATION, null);
+    }
+}
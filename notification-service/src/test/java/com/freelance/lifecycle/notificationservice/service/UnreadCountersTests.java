@@ -0,0 +1,34 @@
+package com.freelance.lifecycle.notificationservice.service;
+
+import com.freelance.lifecycle.notificationservice.repository.NotificationRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class UnreadCountersTests {
+
+    private final NotificationRepository notificationRepository = mock(NotificationRepository.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UnreadCounters unreadCounters = new UnreadCounters(notificationRepository, meterRegistry, 100);
+
+    @Test
+    void reconcileCorrectsDriftWithoutCountingAsReads() {
+        when(notificationRepository.countByUserIdAndIsRead(7L, false)).thenReturn(3L);
+        when(notificationRepository.countUnreadByUserIds(anyCollection())).thenReturn(List.<Object[]>of(new Object[]{7L, 5L}));
+
+        assertThat(unreadCounters.get(7L)).isEqualTo(3);
+        unreadCounters.reconcile();
+
+        assertThat(meterRegistry.get("notifications.unread-counters.corrections").counter().count()).isEqualTo(1);
+        // One miss from seeding; the reconciliation pass did not register as a hit
+        assertThat(meterRegistry.get("notifications.unread-counters.hit-ratio").gauge().value()).isZero();
+        assertThat(unreadCounters.get(7L)).isEqualTo(5);
+        assertThat(meterRegistry.get("notifications.unread-counters.hit-ratio").gauge().value()).isEqualTo(0.5);
+    }
+}